@@ -0,0 +1,32 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * How far a commit is ahead of and behind a base commit, and their merge base.
+ * The merge base is {@code null} when the two have no common history.
+ */
+public final class AheadBehind {
+
+    private final int ahead;
+    private final int behind;
+    private final ObjectId mergeBase;
+
+    public AheadBehind(int ahead, int behind, ObjectId mergeBase) {
+        this.ahead = ahead;
+        this.behind = behind;
+        this.mergeBase = mergeBase;
+    }
+
+    public int getAhead() {
+        return ahead;
+    }
+
+    public int getBehind() {
+        return behind;
+    }
+
+    public ObjectId getMergeBase() {
+        return mergeBase;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of {@link AheadBehind} results keyed by (tip, base) commit id pair, shared by
+ * all repositories. Commit ids are immutable, so entries never go stale.
+ * <p>
+ * {@link #compute} resolves all misses for one base with a single {@link AheadBehindWalk}.
+ */
+public class AheadBehindCache {
+
+    private final int maxSize;
+    private final Map<CommitPair, AheadBehind> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AheadBehindCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CommitPair, AheadBehind> eldest) {
+                if (size() > AheadBehindCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the ahead/behind counts of each of the given commits against {@code base}.
+     */
+    public Map<ObjectId, AheadBehind> compute(Repository repository, Collection<? extends AnyObjectId> tips,
+                                              AnyObjectId base) throws IOException {
+        ObjectId baseId = base.copy();
+        Map<ObjectId, AheadBehind> result = new HashMap<>();
+        Set<ObjectId> missing = new LinkedHashSet<>();
+
+        synchronized (entries) {
+            for (AnyObjectId tip : tips) {
+                AheadBehind aheadBehind = entries.get(new CommitPair(tip, baseId));
+                if (aheadBehind != null) {
+                    result.put(tip.copy(), aheadBehind);
+                } else {
+                    missing.add(tip.copy());
+                }
+            }
+        }
+        hits.addAndGet(result.size());
+        misses.addAndGet(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<ObjectId> walkTips = new ArrayList<>(missing);
+        AheadBehind[] computed = AheadBehindWalk.compute(repository, walkTips, baseId);
+
+        synchronized (entries) {
+            for (int i = 0; i < walkTips.size(); i++) {
+                entries.put(new CommitPair(walkTips.get(i), baseId), computed[i]);
+                result.put(walkTips.get(i), computed[i]);
+            }
+        }
+        return result;
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats("ahead-behind", size, maxSize, hits.get(), misses.get(), evictions.get());
+    }
+}
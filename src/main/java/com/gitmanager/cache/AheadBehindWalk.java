@@ -0,0 +1,233 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraph;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Computes ahead/behind counts and merge bases of many tips against one base in a single
+ * walk.
+ * <p>
+ * Every commit carries the set of starting points (the tips and the base) it is reachable
+ * from, which it passes on to its parents. Commits are visited in descending generation
+ * number, so a commit's set is complete when it is visited. Generation numbers come from
+ * the commit-graph; commits newer than the graph get theirs computed from their parents.
+ * The walk stops as soon as everything left in the queue is reachable from every starting
+ * point and lies below every merge base, since none of that history can change a result.
+ * <p>
+ * A repository without a commit-graph (not maintained yet, or held in memory) has no
+ * generation numbers to bound the walk, and computing them would walk its whole history.
+ * Each tip is then compared with the base by JGit's usual commit-time ordered walks,
+ * which only cover the history between the two.
+ */
+final class AheadBehindWalk {
+
+    private static final Comparator<Node> CHILDREN_FIRST = Comparator
+            .comparingInt((Node node) -> node.generation).reversed();
+
+    private final RevWalk walk;
+    private final CommitGraph graph;
+    private final int tipCount;
+    private final Map<RevCommit, Node> nodes = new HashMap<>();
+    private final Map<RevCommit, Integer> generations = new HashMap<>();
+    private final PriorityQueue<Node> queue = new PriorityQueue<>(CHILDREN_FIRST);
+    private int pending;
+
+    private AheadBehindWalk(RevWalk walk, CommitGraph graph, int tipCount) {
+        this.walk = walk;
+        this.graph = graph;
+        this.tipCount = tipCount;
+    }
+
+    /**
+     * Returns one result per tip, in the order of {@code tips}.
+     */
+    static AheadBehind[] compute(Repository repository, List<ObjectId> tips, ObjectId base) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            ObjectReader reader = walk.getObjectReader();
+            Optional<CommitGraph> graph = reader.getCommitGraph();
+            if (graph.isEmpty()) {
+                return computeWithoutGraph(walk, tips, base);
+            }
+            return new AheadBehindWalk(walk, graph.get(), tips.size()).run(tips, base);
+        }
+    }
+
+    private static AheadBehind[] computeWithoutGraph(RevWalk walk, List<ObjectId> tips, ObjectId baseId)
+            throws IOException {
+        AheadBehind[] results = new AheadBehind[tips.size()];
+        for (int i = 0; i < tips.size(); i++) {
+            RevCommit tip = walk.parseCommit(tips.get(i));
+            RevCommit base = walk.parseCommit(baseId);
+
+            walk.reset();
+            walk.setRevFilter(RevFilter.MERGE_BASE);
+            walk.markStart(tip);
+            walk.markStart(base);
+            RevCommit mergeBase = walk.next();
+
+            walk.reset();
+            walk.setRevFilter(RevFilter.ALL);
+            int ahead = count(walk, tip, base);
+            walk.reset();
+            int behind = count(walk, base, tip);
+            results[i] = new AheadBehind(ahead, behind, mergeBase != null ? mergeBase.copy() : null);
+        }
+        return results;
+    }
+
+    private static int count(RevWalk walk, RevCommit from, RevCommit excluded) throws IOException {
+        walk.markStart(from);
+        walk.markUninteresting(excluded);
+        int count = 0;
+        while (walk.next() != null) {
+            count++;
+        }
+        return count;
+    }
+
+    private AheadBehind[] run(List<ObjectId> tips, ObjectId base) throws IOException {
+        for (int i = 0; i < tipCount; i++) {
+            enqueue(walk.parseCommit(tips.get(i)), bit(i), new BitSet());
+        }
+        enqueue(walk.parseCommit(base), bit(tipCount), new BitSet());
+
+        int[] ahead = new int[tipCount];
+        int[] behind = new int[tipCount];
+        ObjectId[] mergeBases = new ObjectId[tipCount];
+
+        while (pending > 0 && !queue.isEmpty()) {
+            Node node = queue.poll();
+            if (!node.isDone()) {
+                pending--;
+            }
+
+            boolean fromBase = node.reach.get(tipCount);
+            BitSet stale = (BitSet) node.stale.clone();
+            for (int i = 0; i < tipCount; i++) {
+                boolean fromTip = node.reach.get(i);
+                if (fromTip && !fromBase) {
+                    ahead[i]++;
+                } else if (!fromTip && fromBase) {
+                    behind[i]++;
+                } else if (fromTip) {
+                    // The first common commit not below another common commit is the merge base
+                    if (!node.stale.get(i) && mergeBases[i] == null) {
+                        mergeBases[i] = node.commit.copy();
+                    }
+                    stale.set(i);
+                }
+            }
+
+            for (RevCommit parent : node.commit.getParents()) {
+                walk.parseHeaders(parent);
+                enqueue(parent, node.reach, stale);
+            }
+        }
+
+        AheadBehind[] results = new AheadBehind[tipCount];
+        for (int i = 0; i < tipCount; i++) {
+            results[i] = new AheadBehind(ahead[i], behind[i], mergeBases[i]);
+        }
+        return results;
+    }
+
+    private void enqueue(RevCommit commit, BitSet reach, BitSet stale) throws IOException {
+        Node node = nodes.get(commit);
+        if (node == null) {
+            node = new Node(commit, generation(commit));
+            nodes.put(commit, node);
+        }
+
+        boolean wasQueued = node.queued;
+        boolean wasDone = node.isDone();
+        node.reach.or(reach);
+        node.stale.or(stale);
+
+        if (!wasQueued) {
+            node.queued = true;
+            queue.add(node);
+            if (!node.isDone()) {
+                pending++;
+            }
+        } else if (!wasDone && node.isDone()) {
+            pending--;
+        }
+    }
+
+    private int generation(RevCommit commit) throws IOException {
+        Deque<RevCommit> stack = new ArrayDeque<>();
+        stack.push(commit);
+        while (!stack.isEmpty()) {
+            RevCommit top = stack.peek();
+            if (generations.containsKey(top)) {
+                stack.pop();
+                continue;
+            }
+            int position = graph.findGraphPosition(top);
+            if (position >= 0) {
+                generations.put(top, graph.getCommitData(position).getGeneration());
+                stack.pop();
+                continue;
+            }
+
+            walk.parseHeaders(top);
+            int generation = 1;
+            boolean ready = true;
+            for (RevCommit parent : top.getParents()) {
+                Integer parentGeneration = generations.get(parent);
+                if (parentGeneration == null) {
+                    stack.push(parent);
+                    ready = false;
+                } else {
+                    generation = Math.max(generation, parentGeneration + 1);
+                }
+            }
+            if (ready) {
+                generations.put(top, generation);
+                stack.pop();
+            }
+        }
+        return generations.get(commit);
+    }
+
+    private static BitSet bit(int index) {
+        BitSet bits = new BitSet();
+        bits.set(index);
+        return bits;
+    }
+
+    private final class Node {
+
+        private final RevCommit commit;
+        private final int generation;
+        private final BitSet reach = new BitSet();
+        private final BitSet stale = new BitSet();
+        private boolean queued;
+
+        private Node(RevCommit commit, int generation) {
+            this.commit = commit;
+            this.generation = generation;
+        }
+
+        private boolean isDone() {
+            return reach.cardinality() == tipCount + 1 && stale.cardinality() == tipCount;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed LRU cache of small blob contents by blob id, shared by all
+ * repositories and kept off the Java heap.
+ * <p>
+ * Memory is allocated lazily as direct {@link ByteBuffer} slabs, up to the configured
+ * capacity, and handed out in fixed-size blocks. A blob occupies as many blocks as it
+ * needs, not necessarily adjacent, so freed space is always reusable and the cache never
+ * fragments. Only the block index of each entry lives on the heap.
+ * <p>
+ * A cache with zero capacity is disabled: lookups miss and nothing is stored.
+ */
+public class BlobCache {
+
+    private static final int BLOCK_SIZE = 4096;
+    private static final int BLOCKS_PER_SLAB = 256;
+
+    private final long capacity;
+    private final int maxBlobSize;
+    private final int maxBlocks;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final int[] freeBlocks;
+    private int freeCount;
+    private final Map<ObjectId, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int usedBlocks;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BlobCache(long capacity, long maxBlobSize) {
+        this.maxBlocks = (int) Math.min(Integer.MAX_VALUE, Math.max(0, capacity) / BLOCK_SIZE);
+        this.capacity = (long) maxBlocks * BLOCK_SIZE;
+        this.maxBlobSize = (int) Math.min(this.capacity, Math.max(0, maxBlobSize));
+        this.freeBlocks = new int[maxBlocks];
+    }
+
+    public boolean isEnabled() {
+        return maxBlocks > 0;
+    }
+
+    /**
+     * Returns whether a blob of the given size would be kept by {@link #put}.
+     */
+    public boolean accepts(long size) {
+        return isEnabled() && size <= maxBlobSize;
+    }
+
+    /**
+     * Returns a heap copy of the cached contents of a blob, or {@code null} on a miss.
+     */
+    public byte[] get(AnyObjectId blobId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(blobId);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return read(entry);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Writes {@code length} bytes of a cached blob starting at {@code offset} to {@code out},
+     * copying a block at a time through a small buffer rather than making a heap copy of the
+     * whole blob. The cache is not locked while writing to the stream, so a blob evicted in
+     * the meantime is only written in part.
+     *
+     * @return the number of bytes written, or -1 on a miss
+     */
+    public long writeTo(AnyObjectId blobId, long offset, long length, OutputStream out) throws IOException {
+        if (!isEnabled()) {
+            return -1;
+        }
+        byte[] buffer = null;
+        long written = 0;
+        while (written < length) {
+            long position = offset + written;
+            int count;
+            synchronized (entries) {
+                Entry entry = entries.get(blobId);
+                if (entry == null) {
+                    break;
+                }
+                if (buffer == null) {
+                    Objects.checkFromIndexSize(offset, length, entry.length);
+                    hits.incrementAndGet();
+                    buffer = new byte[(int) Math.min(BLOCK_SIZE, length)];
+                }
+                int index = (int) (position / BLOCK_SIZE);
+                int start = (int) (position % BLOCK_SIZE);
+                count = (int) Math.min(BLOCK_SIZE - start, length - written);
+                block(entry.blocks[index]).get(start, buffer, 0, count);
+            }
+            out.write(buffer, 0, count);
+            written += count;
+        }
+        if (buffer == null && length > 0) {
+            misses.incrementAndGet();
+            return -1;
+        }
+        return written;
+    }
+
+    /**
+     * Stores the contents of a blob, evicting the least recently used blobs to make room.
+     * Blobs larger than the maximum blob size are ignored.
+     */
+    public void put(AnyObjectId blobId, byte[] data) {
+        if (!accepts(data.length)) {
+            return;
+        }
+        int blockCount = Math.max(1, (data.length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        synchronized (entries) {
+            if (entries.containsKey(blobId)) {
+                return;
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (maxBlocks - usedBlocks < blockCount && eldest.hasNext()) {
+                release(eldest.next());
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+
+            int[] blocks = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = allocateBlock();
+            }
+            usedBlocks += blockCount;
+
+            Entry entry = new Entry(data.length, blocks);
+            write(entry, data);
+            entries.put(blobId.copy(), entry);
+        }
+    }
+
+    public CacheStats getStats() {
+        long size;
+        synchronized (entries) {
+            size = (long) usedBlocks * BLOCK_SIZE;
+        }
+        return new CacheStats("blobs", size, capacity, hits.get(), misses.get(), evictions.get());
+    }
+
+    private int allocateBlock() {
+        if (freeCount == 0) {
+            int first = slabs.size() * BLOCKS_PER_SLAB;
+            int count = Math.min(BLOCKS_PER_SLAB, maxBlocks - first);
+            slabs.add(ByteBuffer.allocateDirect(count * BLOCK_SIZE));
+            for (int i = count - 1; i >= 0; i--) {
+                freeBlocks[freeCount++] = first + i;
+            }
+        }
+        return freeBlocks[--freeCount];
+    }
+
+    private void release(Entry entry) {
+        for (int block : entry.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+        usedBlocks -= entry.blocks.length;
+    }
+
+    private void write(Entry entry, byte[] data) {
+        for (int i = 0, offset = 0; offset < data.length; i++, offset += BLOCK_SIZE) {
+            block(entry.blocks[i]).put(data, offset, Math.min(BLOCK_SIZE, data.length - offset));
+        }
+    }
+
+    private byte[] read(Entry entry) {
+        byte[] data = new byte[entry.length];
+        for (int i = 0, offset = 0; offset < data.length; i++, offset += BLOCK_SIZE) {
+            block(entry.blocks[i]).get(data, offset, Math.min(BLOCK_SIZE, data.length - offset));
+        }
+        return data;
+    }
+
+    private ByteBuffer block(int index) {
+        int start = (index % BLOCKS_PER_SLAB) * BLOCK_SIZE;
+        return slabs.get(index / BLOCKS_PER_SLAB).slice(start, BLOCK_SIZE);
+    }
+
+    private static final class Entry {
+
+        private final int length;
+        private final int[] blocks;
+
+        private Entry(int length, int[] blocks) {
+            this.length = length;
+            this.blocks = blocks;
+        }
+    }
+}
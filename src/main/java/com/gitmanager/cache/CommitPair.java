@@ -0,0 +1,35 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Ordered pair of commit ids, used as a cache key for results that depend only on the
+ * two commits.
+ */
+final class CommitPair {
+
+    private final ObjectId first;
+    private final ObjectId second;
+
+    CommitPair(AnyObjectId first, AnyObjectId second) {
+        this.first = first.copy();
+        this.second = second.copy();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CommitPair other)) {
+            return false;
+        }
+        return first.equals(other.first) && second.equals(other.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * first.hashCode() + second.hashCode();
+    }
+}
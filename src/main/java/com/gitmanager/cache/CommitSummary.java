@@ -0,0 +1,51 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.revwalk.RevCommit;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The parts of a commit shown in branch and tag listings. Immutable, so instances can be
+ * shared between repositories that contain the same commit.
+ */
+public final class CommitSummary {
+
+    private final String commitId;
+    private final String shortMessage;
+    private final String authorName;
+    private final long commitTime;
+
+    private CommitSummary(String commitId, String shortMessage, String authorName, long commitTime) {
+        this.commitId = commitId;
+        this.shortMessage = shortMessage;
+        this.authorName = authorName;
+        this.commitTime = commitTime;
+    }
+
+    public static CommitSummary of(RevCommit commit) {
+        return new CommitSummary(commit.getName(), commit.getShortMessage(),
+                commit.getAuthorIdent().getName(), commit.getCommitTime());
+    }
+
+    public String getCommitId() {
+        return commitId;
+    }
+
+    public String getShortMessage() {
+        return shortMessage;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public long getCommitTime() {
+        return commitTime;
+    }
+
+    public LocalDateTime getCommitDate() {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(commitTime), ZoneId.systemDefault());
+    }
+}
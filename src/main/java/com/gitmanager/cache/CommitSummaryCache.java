@@ -0,0 +1,155 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraph;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed LRU cache of {@link CommitSummary} by commit id, shared by all
+ * repositories.
+ * <p>
+ * {@link #resolve} looks up a batch of ids at once and parses the misses with a single
+ * {@link RevWalk}, reading them in pack offset order so that a large listing becomes one
+ * forward sweep over each pack instead of random reads.
+ */
+public class CommitSummaryCache {
+
+    private final int maxSize;
+    private final Map<ObjectId, CommitSummary> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CommitSummaryCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, CommitSummary> eldest) {
+                if (size() > CommitSummaryCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns summaries for those of the given ids that name commits. Ids of other objects,
+     * such as annotated tags, and ids missing from the repository are left out.
+     */
+    public Map<ObjectId, CommitSummary> resolve(Repository repository, Collection<? extends AnyObjectId> ids)
+            throws IOException {
+        Map<ObjectId, CommitSummary> result = new HashMap<>();
+        Set<ObjectId> missing = new LinkedHashSet<>();
+
+        synchronized (entries) {
+            for (AnyObjectId id : ids) {
+                CommitSummary summary = entries.get(id);
+                if (summary != null) {
+                    result.put(id.copy(), summary);
+                } else {
+                    missing.add(id.copy());
+                }
+            }
+        }
+        hits.addAndGet(result.size());
+        misses.addAndGet(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<ObjectId, CommitSummary> loaded = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            for (ObjectId id : PackOrder.sort(repository, missing)) {
+                RevObject object;
+                try {
+                    object = walk.parseAny(id);
+                } catch (MissingObjectException e) {
+                    continue;
+                }
+                if (object instanceof RevCommit commit) {
+                    loaded.put(id, CommitSummary.of(commit));
+                    // Only the summary is kept, so don't let the walker hold every body
+                    commit.disposeBody();
+                }
+            }
+        }
+
+        synchronized (entries) {
+            entries.putAll(loaded);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Returns the committer times, in seconds, of those of the given ids that name commits.
+     * Times come from cached summaries or the commit-graph where possible; other commits
+     * have only their headers parsed and nothing is added to the cache.
+     */
+    public Map<ObjectId, Long> commitTimes(Repository repository, Collection<? extends AnyObjectId> ids)
+            throws IOException {
+        Map<ObjectId, Long> times = new HashMap<>();
+        Set<ObjectId> missing = new LinkedHashSet<>();
+
+        synchronized (entries) {
+            for (AnyObjectId id : ids) {
+                CommitSummary summary = entries.get(id);
+                if (summary != null) {
+                    times.put(id.copy(), summary.getCommitTime());
+                } else {
+                    missing.add(id.copy());
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return times;
+        }
+
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            CommitGraph graph = walk.getObjectReader().getCommitGraph().orElse(CommitGraph.EMPTY);
+            for (ObjectId id : PackOrder.sort(repository, missing)) {
+                int position = graph.findGraphPosition(id);
+                if (position >= 0) {
+                    times.put(id, graph.getCommitData(position).getCommitTime());
+                    continue;
+                }
+                RevObject object;
+                try {
+                    object = walk.parseAny(id);
+                } catch (MissingObjectException e) {
+                    continue;
+                }
+                if (object instanceof RevCommit commit) {
+                    times.put(id, (long) commit.getCommitTime());
+                }
+            }
+        }
+        return times;
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats("commit-summaries", size, maxSize, hits.get(), misses.get(), evictions.get());
+    }
+}
@@ -0,0 +1,32 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.MergeResult.MergeStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of merging one commit into another without writing anything: whether it would
+ * be a no-op, a fast-forward, a clean merge or a conflict, and the conflicting paths.
+ */
+public final class MergeCheck {
+
+    private final MergeStatus status;
+    private final List<String> conflicts;
+
+    public MergeCheck(MergeStatus status, List<String> conflicts) {
+        this.status = status;
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public MergeStatus getStatus() {
+        return status;
+    }
+
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    public boolean isMergeable() {
+        return status != MergeStatus.CONFLICTING && status != MergeStatus.FAILED;
+    }
+}
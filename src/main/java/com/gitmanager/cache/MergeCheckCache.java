@@ -0,0 +1,103 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import com.gitmanager.model.MergeResult.MergeStatus;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.merge.ResolveMerger;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of {@link MergeCheck} results keyed by (ours, theirs) commit id pair, shared
+ * by all repositories.
+ * <p>
+ * Merges run in core with the recursive strategy against the object database only. New
+ * objects the merger creates (merged blobs, trees, virtual merge bases) are kept in an
+ * {@link OverlayObjectInserter} and dropped afterwards, so a check never touches the
+ * work tree, the index or the object store.
+ */
+public class MergeCheckCache {
+
+    private final int maxSize;
+    private final Map<CommitPair, MergeCheck> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MergeCheckCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CommitPair, MergeCheck> eldest) {
+                if (size() > MergeCheckCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns what merging {@code theirs} into {@code ours} would do.
+     */
+    public MergeCheck check(Repository repository, AnyObjectId ours, AnyObjectId theirs) throws IOException {
+        CommitPair key = new CommitPair(ours, theirs);
+        synchronized (entries) {
+            MergeCheck cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        MergeCheck result = merge(repository, ours, theirs);
+        synchronized (entries) {
+            entries.put(key, result);
+        }
+        return result;
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats("merge-checks", size, maxSize, hits.get(), misses.get(), evictions.get());
+    }
+
+    private static MergeCheck merge(Repository repository, AnyObjectId ours, AnyObjectId theirs) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            RevCommit oursCommit = walk.parseCommit(ours);
+            RevCommit theirsCommit = walk.parseCommit(theirs);
+            if (walk.isMergedInto(theirsCommit, oursCommit)) {
+                return new MergeCheck(MergeStatus.ALREADY_UP_TO_DATE, List.of());
+            }
+            walk.reset();
+            if (walk.isMergedInto(oursCommit, theirsCommit)) {
+                return new MergeCheck(MergeStatus.FAST_FORWARD, List.of());
+            }
+        }
+
+        try (OverlayObjectInserter inserter = new OverlayObjectInserter(repository)) {
+            ResolveMerger merger = (ResolveMerger) MergeStrategy.RECURSIVE.newMerger(inserter, repository.getConfig());
+            if (merger.merge(ours, theirs)) {
+                return new MergeCheck(MergeStatus.MERGED, List.of());
+            }
+
+            List<String> conflicts = new ArrayList<>(merger.getUnmergedPaths());
+            conflicts.sort(null);
+            return new MergeCheck(MergeStatus.CONFLICTING, conflicts);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.internal.storage.commitgraph.CommitGraph;
+import org.eclipse.jgit.lib.AbbreviatedObjectId;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.PackParser;
+import org.eclipse.jgit.util.IO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Inserter that keeps new objects in memory. Its readers see those objects on top of the
+ * repository's object database, which is never written to, so a merger can run against
+ * it without leaving anything behind.
+ */
+final class OverlayObjectInserter extends ObjectInserter {
+
+    private final Repository repository;
+    private final Map<ObjectId, ObjectLoader> objects = new HashMap<>();
+
+    OverlayObjectInserter(Repository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public ObjectId insert(int type, long length, InputStream in) throws IOException {
+        byte[] data = new byte[Math.toIntExact(length)];
+        IO.readFully(in, data, 0, data.length);
+        ObjectId id = idFor(type, data);
+        objects.putIfAbsent(id, new ObjectLoader.SmallObject(type, data));
+        return id;
+    }
+
+    @Override
+    public PackParser newPackParser(InputStream in) throws IOException {
+        throw new IOException("The in-memory inserter of dry-run merges doesn't accept packs");
+    }
+
+    @Override
+    public ObjectReader newReader() {
+        return new Reader(repository.newObjectReader());
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is ever written
+    }
+
+    @Override
+    public void close() {
+        objects.clear();
+    }
+
+    private final class Reader extends ObjectReader {
+
+        private final ObjectReader delegate;
+
+        private Reader(ObjectReader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ObjectReader newReader() {
+            return new Reader(delegate.newReader());
+        }
+
+        @Override
+        public Collection<ObjectId> resolve(AbbreviatedObjectId id) throws IOException {
+            return delegate.resolve(id);
+        }
+
+        @Override
+        public boolean has(AnyObjectId objectId) throws IOException {
+            return objects.containsKey(objectId) || delegate.has(objectId);
+        }
+
+        @Override
+        public ObjectLoader open(AnyObjectId objectId, int typeHint)
+                throws MissingObjectException, IncorrectObjectTypeException, IOException {
+            ObjectLoader loader = objects.get(objectId);
+            if (loader == null) {
+                return delegate.open(objectId, typeHint);
+            }
+            if (typeHint != OBJ_ANY && loader.getType() != typeHint) {
+                throw new IncorrectObjectTypeException(objectId.copy(), typeHint);
+            }
+            return loader;
+        }
+
+        @Override
+        public Set<ObjectId> getShallowCommits() throws IOException {
+            return delegate.getShallowCommits();
+        }
+
+        @Override
+        public Optional<CommitGraph> getCommitGraph() throws IOException {
+            return delegate.getCommitGraph();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
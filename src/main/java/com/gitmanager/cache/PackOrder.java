@@ -0,0 +1,56 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.internal.storage.file.Pack;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorts batches of object ids so that reading them becomes one forward sweep over each
+ * pack instead of random reads.
+ */
+public final class PackOrder {
+
+    private PackOrder() {
+    }
+
+    /**
+     * Orders ids by the pack that holds them and their offset within it. Loose objects and
+     * non-file repositories keep their original order.
+     */
+    public static List<ObjectId> sort(Repository repository, Collection<ObjectId> ids) throws IOException {
+        List<ObjectId> ordered = new ArrayList<>(ids);
+        ObjectDatabase objectDatabase = repository.getObjectDatabase();
+        if (!(objectDatabase instanceof ObjectDirectory directory) || ordered.size() < 2) {
+            return ordered;
+        }
+
+        List<Pack> packs = new ArrayList<>(directory.getPacks());
+        Map<ObjectId, long[]> positions = new HashMap<>();
+        for (ObjectId id : ordered) {
+            long[] position = {packs.size(), 0};
+            for (int i = 0; i < packs.size(); i++) {
+                long offset = packs.get(i).getIndex().findOffset(id);
+                if (offset >= 0) {
+                    position[0] = i;
+                    position[1] = offset;
+                    break;
+                }
+            }
+            positions.put(id, position);
+        }
+
+        ordered.sort(Comparator.<ObjectId>comparingLong(id -> positions.get(id)[0])
+                .thenComparingLong(id -> positions.get(id)[1]));
+        return ordered;
+    }
+}
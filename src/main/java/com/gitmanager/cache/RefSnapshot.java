@@ -0,0 +1,129 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a repository's HEAD, branches, remote branches and tags, with tags
+ * peeled, so name lookups are hash map hits.
+ */
+public final class RefSnapshot {
+
+    // Same order as git's ref lookup for a short name
+    private static final String[] SEARCH_PATH = {
+            "", Constants.R_REFS, Constants.R_TAGS, Constants.R_HEADS, Constants.R_REMOTES
+    };
+
+    private final Ref head;
+    private final Map<String, Ref> refs;
+    private final List<Ref> branches;
+    private final List<Ref> remoteBranches;
+    private final List<Ref> tags;
+    private final long createdAt;
+
+    private RefSnapshot(Ref head, Map<String, Ref> refs, List<Ref> branches, List<Ref> remoteBranches,
+                        List<Ref> tags) {
+        this.head = head;
+        this.refs = refs;
+        this.branches = branches;
+        this.remoteBranches = remoteBranches;
+        this.tags = tags;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    static RefSnapshot of(Repository repository) throws IOException {
+        RefDatabase refDatabase = repository.getRefDatabase();
+        List<Ref> branches = refDatabase.getRefsByPrefix(Constants.R_HEADS);
+        List<Ref> remoteBranches = refDatabase.getRefsByPrefix(Constants.R_REMOTES);
+        List<Ref> tags = new ArrayList<>();
+        for (Ref tag : refDatabase.getRefsByPrefix(Constants.R_TAGS)) {
+            tags.add(tag.isPeeled() ? tag : refDatabase.peel(tag));
+        }
+
+        Map<String, Ref> refs = new HashMap<>();
+        branches.forEach(ref -> refs.put(ref.getName(), ref));
+        remoteBranches.forEach(ref -> refs.put(ref.getName(), ref));
+        tags.forEach(ref -> refs.put(ref.getName(), ref));
+
+        Ref head = refDatabase.exactRef(Constants.HEAD);
+        if (head != null) {
+            refs.put(Constants.HEAD, head);
+        }
+        return new RefSnapshot(head, refs, Collections.unmodifiableList(branches),
+                Collections.unmodifiableList(remoteBranches), Collections.unmodifiableList(tags));
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Ref getHead() {
+        return head;
+    }
+
+    /**
+     * Returns the short name of the branch HEAD points to, or the commit id for a detached HEAD.
+     */
+    public String getCurrentBranch() {
+        if (head == null) {
+            return null;
+        }
+        if (head.isSymbolic()) {
+            return Repository.shortenRefName(head.getTarget().getName());
+        }
+        return head.getObjectId() != null ? head.getObjectId().getName() : null;
+    }
+
+    public Ref exactRef(String name) {
+        return refs.get(name);
+    }
+
+    public Ref getBranch(String name) {
+        return refs.get(Constants.R_HEADS + name);
+    }
+
+    public Ref getTag(String name) {
+        return refs.get(Constants.R_TAGS + name);
+    }
+
+    public List<Ref> getBranches() {
+        return branches;
+    }
+
+    public List<Ref> getRemoteBranches() {
+        return remoteBranches;
+    }
+
+    public List<Ref> getTags() {
+        return tags;
+    }
+
+    /**
+     * Resolves a full or short ref name, or a full object id, following Git's ref search
+     * order. Returns {@code null} for anything else, such as abbreviated ids or revision
+     * expressions, which callers should hand to {@link Repository#resolve(String)}.
+     */
+    public ObjectId resolve(String revision) {
+        if (ObjectId.isId(revision)) {
+            return ObjectId.fromString(revision);
+        }
+        for (String prefix : SEARCH_PATH) {
+            Ref ref = refs.get(prefix + revision);
+            if (ref != null) {
+                return ref.getObjectId();
+            }
+        }
+        Ref remoteHead = refs.get(Constants.R_REMOTES + revision + "/" + Constants.HEAD);
+        return remoteHead != null ? remoteHead.getObjectId() : null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.events.ListenerHandle;
+import org.eclipse.jgit.events.RefsChangedEvent;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-repository {@link RefSnapshot}s.
+ * <p>
+ * A snapshot is dropped when JGit reports a ref change for the repository through its
+ * global {@code RefsChangedListener}, when the service invalidates it after its own
+ * writes, and after a maximum age. The age limit catches changes made by other processes,
+ * which JGit only notices when it next scans the refs.
+ */
+public class RefSnapshotCache implements AutoCloseable {
+
+    private final long maxAgeMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // One token per snapshot being built; an invalidation drops it so the build isn't published
+    private final Map<String, Object> builds = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ListenerHandle listenerHandle;
+
+    public RefSnapshotCache(Duration maxAge) {
+        this.maxAgeMillis = maxAge.toMillis();
+        this.listenerHandle = Repository.getGlobalListenerList().addRefsChangedListener(this::onRefsChanged);
+    }
+
+    /**
+     * Returns the snapshot of the named repository, building it from {@code repository}
+     * if there is no current one.
+     */
+    public RefSnapshot get(String name, Repository repository) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry != null && System.currentTimeMillis() - entry.snapshot.getCreatedAt() < maxAgeMillis) {
+            hits.incrementAndGet();
+            return entry.snapshot;
+        }
+
+        misses.incrementAndGet();
+        Object token = builds.computeIfAbsent(name, key -> new Object());
+        RefSnapshot snapshot;
+        try {
+            snapshot = RefSnapshot.of(repository);
+        } catch (IOException | RuntimeException e) {
+            builds.remove(name, token);
+            throw e;
+        }
+        // Don't publish a snapshot that an invalidation raced with
+        builds.computeIfPresent(name, (key, current) -> {
+            if (current != token) {
+                return current;
+            }
+            entries.put(name, new Entry(repository.getIdentifier(), snapshot));
+            return null;
+        });
+        return snapshot;
+    }
+
+    public void invalidate(String name) {
+        builds.remove(name);
+        if (entries.remove(name) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Snapshots are bounded by the number of repositories, so the reported capacity is 0.
+     */
+    public CacheStats getStats() {
+        return new CacheStats("ref-snapshots", entries.size(), 0, hits.get(), misses.get(), invalidations.get());
+    }
+
+    @Override
+    public void close() {
+        listenerHandle.remove();
+        entries.clear();
+        builds.clear();
+    }
+
+    private void onRefsChanged(RefsChangedEvent event) {
+        String identifier = event.getRepository().getIdentifier();
+        entries.forEach((name, entry) -> {
+            if (entry.repositoryId.equals(identifier)) {
+                invalidate(name);
+            }
+        });
+    }
+
+    private static final class Entry {
+
+        private final String repositoryId;
+        private final RefSnapshot snapshot;
+
+        private Entry(String repositoryId, RefSnapshot snapshot) {
+            this.repositoryId = repositoryId;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of open {@link Repository} handles.
+ * <p>
+ * The cache owns one reference to every repository it holds. Each call to
+ * {@link #borrow} adds another reference through {@link Repository#incrementOpen()},
+ * so callers keep using the usual try-with-resources pattern: closing a borrowed
+ * handle only drops the caller's reference, and the underlying repository is
+ * released once it has been evicted and every borrower has closed it.
+ */
+public class RepositoryHandleCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryHandleCache.class);
+
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final ScheduledExecutorService sweeper;
+
+    public RepositoryHandleCache(int maxSize, Duration idleTimeout) {
+        this.maxSize = Math.max(1, maxSize);
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+
+        long sweepInterval = Math.max(1000, Math.min(idleTimeoutMillis / 2, 60_000));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-cache-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::evictIdle, sweepInterval, sweepInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns an open handle for the given repository, opening it with {@code opener}
+     * on a miss. The caller must close the returned handle.
+     */
+    public Repository borrow(String name, Function<String, Repository> opener) {
+        while (true) {
+            Entry entry = entries.get(name);
+            if (entry != null) {
+                if (entry.acquire()) {
+                    hits.incrementAndGet();
+                    return entry.repository;
+                }
+                // Evicted concurrently, retry with a fresh handle
+                continue;
+            }
+
+            Repository repository = opener.apply(name);
+            Entry created = new Entry(repository);
+            Entry existing = entries.putIfAbsent(name, created);
+            if (existing != null) {
+                // Lost the race against another opener; use the winner's handle
+                repository.close();
+                continue;
+            }
+
+            misses.incrementAndGet();
+            if (!created.acquire()) {
+                // Invalidated before it could be borrowed; the eviction closed the handle
+                continue;
+            }
+            enforceMaxSize();
+            return repository;
+        }
+    }
+
+    public void invalidate(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            evict(name, entry);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.forEach(this::evict);
+    }
+
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        entries.forEach((name, entry) -> {
+            if (entry.lastAccess < cutoff) {
+                logger.debug("Evicting idle repository handle: {}", name);
+                evict(name, entry);
+            }
+        });
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats("repositories", entries.size(), maxSize,
+                hits.get(), misses.get(), evictions.get());
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        invalidateAll();
+    }
+
+    private void enforceMaxSize() {
+        while (entries.size() > maxSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(eldest -> evict(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    private void evict(String name, Entry entry) {
+        if (entries.remove(name, entry) && entry.markEvicted()) {
+            evictions.incrementAndGet();
+            // Drops the cache's own reference; borrowers still holding the handle keep it open
+            entry.repository.close();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Repository repository;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private boolean evicted;
+
+        private Entry(Repository repository) {
+            this.repository = repository;
+        }
+
+        private synchronized boolean acquire() {
+            if (evicted) {
+                return false;
+            }
+            repository.incrementOpen();
+            lastAccess = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized boolean markEvicted() {
+            if (evicted) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevTag;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The parts of an annotated tag shown in tag listings. Tag objects are immutable, so
+ * instances can be shared by every ref and repository that holds the same tag.
+ */
+public final class TagSummary {
+
+    private final String targetId;
+    private final String message;
+    private final String taggerName;
+    private final LocalDateTime tagDate;
+
+    private TagSummary(String targetId, String message, String taggerName, LocalDateTime tagDate) {
+        this.targetId = targetId;
+        this.message = message;
+        this.taggerName = taggerName;
+        this.tagDate = tagDate;
+    }
+
+    /**
+     * Builds a summary of {@code tag}, whose fully peeled target is {@code target}.
+     */
+    static TagSummary of(RevTag tag, RevObject target) {
+        PersonIdent tagger = tag.getTaggerIdent();
+        return new TagSummary(target.getName(), tag.getFullMessage(),
+                tagger != null ? tagger.getName() : null,
+                tagger != null ? LocalDateTime.ofInstant(tagger.getWhenAsInstant(), ZoneId.systemDefault()) : null);
+    }
+
+    /**
+     * Returns the id of the object the tag finally points to, following tags of tags.
+     */
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getTaggerName() {
+        return taggerName;
+    }
+
+    public LocalDateTime getTagDate() {
+        return tagDate;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTag;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed LRU cache of {@link TagSummary} by annotated tag object id, shared by
+ * all repositories.
+ * <p>
+ * Like {@link CommitSummaryCache}, {@link #resolve} parses a batch of misses with one
+ * {@link RevWalk} in pack offset order.
+ */
+public class TagSummaryCache {
+
+    private final int maxSize;
+    private final Map<ObjectId, TagSummary> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TagSummaryCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ObjectId, TagSummary> eldest) {
+                if (size() > TagSummaryCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns summaries for those of the given ids that name annotated tags. Ids of other
+     * objects and ids missing from the repository are left out.
+     */
+    public Map<ObjectId, TagSummary> resolve(Repository repository, Collection<? extends AnyObjectId> ids)
+            throws IOException {
+        Map<ObjectId, TagSummary> result = new HashMap<>();
+        Set<ObjectId> missing = new LinkedHashSet<>();
+
+        synchronized (entries) {
+            for (AnyObjectId id : ids) {
+                TagSummary summary = entries.get(id);
+                if (summary != null) {
+                    result.put(id.copy(), summary);
+                } else {
+                    missing.add(id.copy());
+                }
+            }
+        }
+        hits.addAndGet(result.size());
+        misses.addAndGet(missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<ObjectId, TagSummary> loaded = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            for (ObjectId id : PackOrder.sort(repository, missing)) {
+                try {
+                    if (walk.parseAny(id) instanceof RevTag tag) {
+                        loaded.put(id, TagSummary.of(tag, walk.peel(tag)));
+                        tag.disposeBody();
+                    }
+                } catch (MissingObjectException e) {
+                    // Missing tag or target; leave it out
+                }
+            }
+        }
+
+        synchronized (entries) {
+            entries.putAll(loaded);
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats("tag-summaries", size, maxSize, hits.get(), misses.get(), evictions.get());
+    }
+}
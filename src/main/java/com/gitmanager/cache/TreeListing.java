@@ -0,0 +1,93 @@
+package com.gitmanager.cache;
+
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The entries of one tree object, in the tree's own order. Trees are immutable, so a
+ * listing can be shared by every commit, branch and repository that contains the tree.
+ */
+public final class TreeListing {
+
+    // Rough heap cost of the listing and of each entry beyond its name
+    private static final long BASE_WEIGHT = 64;
+    private static final long ENTRY_WEIGHT = 96;
+
+    private final List<Entry> entries;
+    private final long weight;
+
+    private TreeListing(List<Entry> entries, long weight) {
+        this.entries = entries;
+        this.weight = weight;
+    }
+
+    static TreeListing read(ObjectReader reader, AnyObjectId treeId) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long weight = BASE_WEIGHT;
+        CanonicalTreeParser parser = new CanonicalTreeParser(null, reader, treeId);
+        while (!parser.eof()) {
+            String name = parser.getEntryPathString();
+            entries.add(new Entry(name, parser.getEntryRawMode(), parser.getEntryObjectId()));
+            weight += ENTRY_WEIGHT + 2L * name.length();
+            parser.next(1);
+        }
+        return new TreeListing(Collections.unmodifiableList(entries), weight);
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entry with the given name, or {@code null} if there is none.
+     */
+    public Entry find(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    long getWeight() {
+        return weight;
+    }
+
+    public static final class Entry {
+
+        private final String name;
+        private final int mode;
+        private final ObjectId objectId;
+
+        private Entry(String name, int mode, ObjectId objectId) {
+            this.name = name;
+            this.mode = mode;
+            this.objectId = objectId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMode() {
+            return mode;
+        }
+
+        public ObjectId getObjectId() {
+            return objectId;
+        }
+
+        public boolean isTree() {
+            return FileMode.TREE.equals(mode);
+        }
+    }
+}
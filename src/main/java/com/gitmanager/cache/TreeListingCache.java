@@ -0,0 +1,71 @@
+package com.gitmanager.cache;
+
+import com.gitmanager.model.CacheStats;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed LRU cache of {@link TreeListing} by tree id, shared by all
+ * repositories. The path a tree is found at doesn't change its entries, so the id alone
+ * is the key and a subtree shared by many commits is read once.
+ * <p>
+ * The cache is bounded by the estimated weight of its listings rather than their count,
+ * since a tree can hold anything from one entry to many thousands. Its stats report size
+ * and capacity in bytes.
+ */
+public class TreeListingCache {
+
+    private final long maxWeight;
+    private final Map<ObjectId, TreeListing> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TreeListingCache(long maxWeight) {
+        this.maxWeight = Math.max(1, maxWeight);
+    }
+
+    public TreeListing get(ObjectReader reader, AnyObjectId treeId) throws IOException {
+        synchronized (entries) {
+            TreeListing cached = entries.get(treeId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        TreeListing listing = TreeListing.read(reader, treeId);
+        // A listing heavier than the whole cache is served but not kept
+        if (listing.getWeight() > maxWeight) {
+            return listing;
+        }
+        synchronized (entries) {
+            TreeListing previous = entries.put(treeId.copy(), listing);
+            weight += listing.getWeight() - (previous != null ? previous.getWeight() : 0);
+            Iterator<TreeListing> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= eldest.next().getWeight();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return listing;
+    }
+
+    public CacheStats getStats() {
+        long size;
+        synchronized (entries) {
+            size = weight;
+        }
+        return new CacheStats("tree-listings", size, maxWeight, hits.get(), misses.get(), evictions.get());
+    }
+}
@@ -2,12 +2,25 @@ package com.gitmanager.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @ConfigurationProperties(prefix = "git.repository")
 public class GitRepositoryConfig {
 
     private String basePath;
+    private Storage storage = new Storage();
+    private Cache cache = new Cache();
+    private Clone clone = new Clone();
+    private Trash trash = new Trash();
+    private Ephemeral ephemeral = new Ephemeral();
+    private Lock lock = new Lock();
+    private BranchAnalysis branchAnalysis = new BranchAnalysis();
 
     public String getBasePath() {
         return basePath;
@@ -16,4 +29,338 @@ public class GitRepositoryConfig {
     public void setBasePath(String basePath) {
         this.basePath = basePath;
     }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public void setStorage(Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Returns the configured storage roots, or the base path alone when none are configured.
+     * The first root also holds the repository metadata.
+     */
+    public List<Path> getStorageRoots() {
+        List<String> roots = storage.getRoots().isEmpty() ? List.of(basePath) : storage.getRoots();
+        return roots.stream()
+                .map(root -> Path.of(root).toAbsolutePath().normalize())
+                .distinct()
+                .toList();
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Clone getClone() {
+        return clone;
+    }
+
+    public void setClone(Clone clone) {
+        this.clone = clone;
+    }
+
+    public Trash getTrash() {
+        return trash;
+    }
+
+    public void setTrash(Trash trash) {
+        this.trash = trash;
+    }
+
+    public Ephemeral getEphemeral() {
+        return ephemeral;
+    }
+
+    public void setEphemeral(Ephemeral ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+
+    public Lock getLock() {
+        return lock;
+    }
+
+    public void setLock(Lock lock) {
+        this.lock = lock;
+    }
+
+    public BranchAnalysis getBranchAnalysis() {
+        return branchAnalysis;
+    }
+
+    public void setBranchAnalysis(BranchAnalysis branchAnalysis) {
+        this.branchAnalysis = branchAnalysis;
+    }
+
+    public static class Storage {
+
+        private List<String> roots = new ArrayList<>();
+        private Placement placement = Placement.HASH;
+
+        public List<String> getRoots() {
+            return roots;
+        }
+
+        public void setRoots(List<String> roots) {
+            this.roots = roots;
+        }
+
+        public Placement getPlacement() {
+            return placement;
+        }
+
+        public void setPlacement(Placement placement) {
+            this.placement = placement;
+        }
+
+        public enum Placement {
+            HASH, LEAST_USED, EXPLICIT
+        }
+    }
+
+    public static class Cache {
+
+        private int maxSize = 256;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private int commitSummaries = 100_000;
+        private int tagSummaries = 100_000;
+        private Duration refSnapshotMaxAge = Duration.ofSeconds(5);
+        private int aheadBehind = 100_000;
+        private int mergeChecks = 10_000;
+        private DataSize treeListings = DataSize.ofMegabytes(64);
+        private DataSize blobs = DataSize.ofBytes(0);
+        private DataSize blobMaxSize = DataSize.ofMegabytes(1);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public int getCommitSummaries() {
+            return commitSummaries;
+        }
+
+        public void setCommitSummaries(int commitSummaries) {
+            this.commitSummaries = commitSummaries;
+        }
+
+        public int getTagSummaries() {
+            return tagSummaries;
+        }
+
+        public void setTagSummaries(int tagSummaries) {
+            this.tagSummaries = tagSummaries;
+        }
+
+        public Duration getRefSnapshotMaxAge() {
+            return refSnapshotMaxAge;
+        }
+
+        public void setRefSnapshotMaxAge(Duration refSnapshotMaxAge) {
+            this.refSnapshotMaxAge = refSnapshotMaxAge;
+        }
+
+        public int getAheadBehind() {
+            return aheadBehind;
+        }
+
+        public void setAheadBehind(int aheadBehind) {
+            this.aheadBehind = aheadBehind;
+        }
+
+        public int getMergeChecks() {
+            return mergeChecks;
+        }
+
+        public void setMergeChecks(int mergeChecks) {
+            this.mergeChecks = mergeChecks;
+        }
+
+        public DataSize getTreeListings() {
+            return treeListings;
+        }
+
+        public void setTreeListings(DataSize treeListings) {
+            this.treeListings = treeListings;
+        }
+
+        public DataSize getBlobs() {
+            return blobs;
+        }
+
+        public void setBlobs(DataSize blobs) {
+            this.blobs = blobs;
+        }
+
+        public DataSize getBlobMaxSize() {
+            return blobMaxSize;
+        }
+
+        public void setBlobMaxSize(DataSize blobMaxSize) {
+            this.blobMaxSize = blobMaxSize;
+        }
+    }
+
+    public static class Clone {
+
+        private int maxConcurrent = 4;
+        private int queueCapacity = 100;
+        private Duration jobRetention = Duration.ofHours(1);
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getJobRetention() {
+            return jobRetention;
+        }
+
+        public void setJobRetention(Duration jobRetention) {
+            this.jobRetention = jobRetention;
+        }
+    }
+
+    public static class Trash {
+
+        private int batchSize = 500;
+        private Duration batchPause = Duration.ofMillis(20);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getBatchPause() {
+            return batchPause;
+        }
+
+        public void setBatchPause(Duration batchPause) {
+            this.batchPause = batchPause;
+        }
+    }
+
+    public static class Ephemeral {
+
+        private int maxRepositories = 100;
+        private DataSize maxMemory = DataSize.ofMegabytes(256);
+        private Duration defaultTtl = Duration.ofHours(1);
+        private Duration maxTtl = Duration.ofHours(24);
+
+        public int getMaxRepositories() {
+            return maxRepositories;
+        }
+
+        public void setMaxRepositories(int maxRepositories) {
+            this.maxRepositories = maxRepositories;
+        }
+
+        public DataSize getMaxMemory() {
+            return maxMemory;
+        }
+
+        public void setMaxMemory(DataSize maxMemory) {
+            this.maxMemory = maxMemory;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public Duration getMaxTtl() {
+            return maxTtl;
+        }
+
+        public void setMaxTtl(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+    }
+
+    public static class Lock {
+
+        private int stripes = 256;
+        private Duration waitTimeout = Duration.ofSeconds(30);
+
+        public int getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(int stripes) {
+            this.stripes = stripes;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+    }
+
+    public static class BranchAnalysis {
+
+        private boolean enabled = true;
+        private String base;
+        private Duration staleAfter = Duration.ofDays(90);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getBase() {
+            return base;
+        }
+
+        public void setBase(String base) {
+            this.base = base;
+        }
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
 }
@@ -0,0 +1,171 @@
+package com.gitmanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "git.maintenance")
+public class MaintenanceConfig {
+
+    private boolean enabled = true;
+    private int maxConcurrent = 2;
+    private LocalTime quietHoursStart;
+    private LocalTime quietHoursEnd;
+    private Duration pruneExpire = Duration.ofDays(14);
+    private Policy defaults = new Policy(true, 1000, 20, 500, false);
+    private Map<String, Policy> repositories = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public LocalTime getQuietHoursStart() {
+        return quietHoursStart;
+    }
+
+    public void setQuietHoursStart(LocalTime quietHoursStart) {
+        this.quietHoursStart = quietHoursStart;
+    }
+
+    public LocalTime getQuietHoursEnd() {
+        return quietHoursEnd;
+    }
+
+    public void setQuietHoursEnd(LocalTime quietHoursEnd) {
+        this.quietHoursEnd = quietHoursEnd;
+    }
+
+    public Duration getPruneExpire() {
+        return pruneExpire;
+    }
+
+    public void setPruneExpire(Duration pruneExpire) {
+        this.pruneExpire = pruneExpire;
+    }
+
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Policy> getRepositories() {
+        return repositories;
+    }
+
+    public void setRepositories(Map<String, Policy> repositories) {
+        this.repositories = repositories;
+    }
+
+    /**
+     * Returns the policy for a repository, falling back to the defaults for any
+     * threshold the repository does not override.
+     */
+    public Policy policyFor(String repoName) {
+        Policy override = repositories.get(repoName);
+        if (override == null) {
+            return defaults;
+        }
+        return new Policy(
+                override.enabled != null ? override.enabled : defaults.enabled,
+                override.looseObjectThreshold != null ? override.looseObjectThreshold : defaults.looseObjectThreshold,
+                override.packFileThreshold != null ? override.packFileThreshold : defaults.packFileThreshold,
+                override.looseRefThreshold != null ? override.looseRefThreshold : defaults.looseRefThreshold,
+                override.aggressive != null ? override.aggressive : defaults.aggressive
+        );
+    }
+
+    /**
+     * Returns whether maintenance may run at the given time. Without a configured
+     * window maintenance may always run; a window may wrap around midnight.
+     */
+    public boolean isWithinQuietHours(LocalTime time) {
+        if (quietHoursStart == null || quietHoursEnd == null) {
+            return true;
+        }
+        if (quietHoursStart.isBefore(quietHoursEnd)) {
+            return !time.isBefore(quietHoursStart) && time.isBefore(quietHoursEnd);
+        }
+        return !time.isBefore(quietHoursStart) || time.isBefore(quietHoursEnd);
+    }
+
+    public static class Policy {
+
+        private Boolean enabled;
+        private Integer looseObjectThreshold;
+        private Integer packFileThreshold;
+        private Integer looseRefThreshold;
+        private Boolean aggressive;
+
+        public Policy() {
+        }
+
+        public Policy(Boolean enabled, Integer looseObjectThreshold, Integer packFileThreshold,
+                      Integer looseRefThreshold, Boolean aggressive) {
+            this.enabled = enabled;
+            this.looseObjectThreshold = looseObjectThreshold;
+            this.packFileThreshold = packFileThreshold;
+            this.looseRefThreshold = looseRefThreshold;
+            this.aggressive = aggressive;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getLooseObjectThreshold() {
+            return looseObjectThreshold;
+        }
+
+        public void setLooseObjectThreshold(Integer looseObjectThreshold) {
+            this.looseObjectThreshold = looseObjectThreshold;
+        }
+
+        public Integer getPackFileThreshold() {
+            return packFileThreshold;
+        }
+
+        public void setPackFileThreshold(Integer packFileThreshold) {
+            this.packFileThreshold = packFileThreshold;
+        }
+
+        public Integer getLooseRefThreshold() {
+            return looseRefThreshold;
+        }
+
+        public void setLooseRefThreshold(Integer looseRefThreshold) {
+            this.looseRefThreshold = looseRefThreshold;
+        }
+
+        public Boolean getAggressive() {
+            return aggressive;
+        }
+
+        public void setAggressive(Boolean aggressive) {
+            this.aggressive = aggressive;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.model.BranchAnalysis;
+import com.gitmanager.service.BranchAnalysisService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/repositories/{repoName}/branches/analysis")
+public class BranchAnalysisController {
+
+    private final BranchAnalysisService branchAnalysisService;
+
+    public BranchAnalysisController(BranchAnalysisService branchAnalysisService) {
+        this.branchAnalysisService = branchAnalysisService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<BranchAnalysis>> getAnalysis(@PathVariable String repoName) {
+        BranchAnalysis analysis = branchAnalysisService.getAnalysis(repoName);
+        return ResponseEntity.ok(ApiResponse.success(analysis));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BranchAnalysis>> runAnalysis(
+            @PathVariable String repoName,
+            @RequestParam(required = false) String base) {
+        BranchAnalysis analysis = branchAnalysisService.analyze(repoName, base);
+        return ResponseEntity.ok(ApiResponse.success("Branch analysis finished", analysis));
+    }
+}
@@ -1,10 +1,12 @@
 package com.gitmanager.controller;
 
 import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.dto.BranchQuery;
 import com.gitmanager.dto.CreateBranchRequest;
 import com.gitmanager.dto.MergeBranchRequest;
 import com.gitmanager.model.BranchInfo;
 import com.gitmanager.model.MergeResult;
+import com.gitmanager.model.PagedResult;
 import com.gitmanager.service.BranchService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -17,6 +19,8 @@ import java.util.List;
 @RequestMapping("/api/repositories/{repoName}/branches")
 public class BranchController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BranchService branchService;
 
     public BranchController(BranchService branchService) {
@@ -26,9 +30,26 @@ public class BranchController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<BranchInfo>>> listBranches(
             @PathVariable String repoName,
-            @RequestParam(defaultValue = "false") boolean includeRemote) {
-        List<BranchInfo> branches = branchService.listBranches(repoName, includeRemote);
-        return ResponseEntity.ok(ApiResponse.success(branches));
+            @RequestParam(defaultValue = "false") boolean includeRemote,
+            @RequestParam(required = false) String compareTo,
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        BranchQuery query = new BranchQuery();
+        query.setIncludeRemote(includeRemote);
+        query.setCompareTo(compareTo);
+        query.setFilter(filter);
+        query.setSort(sort);
+        query.setLimit(limit);
+        query.setCursor(cursor);
+
+        PagedResult<BranchInfo> page = branchService.listBranches(repoName, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success(page.getItems()));
     }
 
     @PostMapping
@@ -57,6 +78,15 @@ public class BranchController {
         return ResponseEntity.ok(ApiResponse.success(message, result));
     }
 
+    @PostMapping("/merge/check")
+    public ResponseEntity<ApiResponse<MergeResult>> checkMerge(
+            @PathVariable String repoName,
+            @Valid @RequestBody MergeBranchRequest request) {
+        MergeResult result = branchService.checkMerge(repoName, request);
+        String message = result.isSuccessful() ? "Branches merge cleanly" : "Merge would conflict";
+        return ResponseEntity.ok(ApiResponse.success(message, result));
+    }
+
     @DeleteMapping("/{branchName}")
     public ResponseEntity<ApiResponse<Void>> deleteBranch(
             @PathVariable String repoName,
@@ -0,0 +1,66 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.model.CacheStats;
+import com.gitmanager.service.RepositoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final RepositoryService repositoryService;
+
+    public CacheController(RepositoryService repositoryService) {
+        this.repositoryService = repositoryService;
+    }
+
+    @GetMapping("/repositories")
+    public ResponseEntity<ApiResponse<CacheStats>> getRepositoryCacheStats() {
+        CacheStats stats = repositoryService.getRepositoryCacheStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/refs")
+    public ResponseEntity<ApiResponse<CacheStats>> getRefSnapshotCacheStats() {
+        CacheStats stats = repositoryService.getRefSnapshotCacheStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/commits")
+    public ResponseEntity<ApiResponse<CacheStats>> getCommitSummaryCacheStats() {
+        CacheStats stats = repositoryService.getCommitSummaryCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<ApiResponse<CacheStats>> getTagSummaryCacheStats() {
+        CacheStats stats = repositoryService.getTagSummaryCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/ahead-behind")
+    public ResponseEntity<ApiResponse<CacheStats>> getAheadBehindCacheStats() {
+        CacheStats stats = repositoryService.getAheadBehindCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/merges")
+    public ResponseEntity<ApiResponse<CacheStats>> getMergeCheckCacheStats() {
+        CacheStats stats = repositoryService.getMergeCheckCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/trees")
+    public ResponseEntity<ApiResponse<CacheStats>> getTreeListingCacheStats() {
+        CacheStats stats = repositoryService.getTreeListingCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/blobs")
+    public ResponseEntity<ApiResponse<CacheStats>> getBlobCacheStats() {
+        CacheStats stats = repositoryService.getBlobCache().getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+}
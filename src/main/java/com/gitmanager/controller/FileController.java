@@ -1,11 +1,21 @@
 package com.gitmanager.controller;
 
 import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.dto.FileTreeQuery;
 import com.gitmanager.model.FileContent;
 import com.gitmanager.model.FileTreeNode;
+import com.gitmanager.model.PagedResult;
+import com.gitmanager.model.RawFile;
 import com.gitmanager.service.FileService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/repositories/{repoName}/files")
@@ -21,9 +31,23 @@ public class FileController {
     public ResponseEntity<ApiResponse<FileTreeNode>> getFileTree(
             @PathVariable String repoName,
             @RequestParam(defaultValue = "HEAD") String ref,
-            @RequestParam(defaultValue = "") String path) {
-        FileTreeNode tree = fileService.getFileTree(repoName, ref, path);
-        return ResponseEntity.ok(ApiResponse.success(tree));
+            @RequestParam(defaultValue = "") String path,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        FileTreeQuery query = new FileTreeQuery();
+        query.setRef(ref);
+        query.setPath(path);
+        query.setDepth(depth);
+        query.setLimit(limit);
+        query.setCursor(cursor);
+
+        PagedResult<FileTreeNode> page = fileService.listTree(repoName, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(BranchController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success(fileService.toTree(repoName, path, page.getItems())));
     }
 
     @GetMapping("/content")
@@ -34,4 +58,65 @@ public class FileController {
         FileContent content = fileService.getFileContent(repoName, ref, path);
         return ResponseEntity.ok(ApiResponse.success(content));
     }
+
+    /**
+     * Streams a file's bytes. The ETag is the blob id, so it only changes with the
+     * content, and a single byte range can be requested to resume a download.
+     */
+    @GetMapping("/raw")
+    public ResponseEntity<StreamingResponseBody> getRawFile(
+            @PathVariable String repoName,
+            @RequestParam(defaultValue = "HEAD") String ref,
+            @RequestParam String path,
+            @RequestHeader HttpHeaders headers) {
+        RawFile file = fileService.getRawFile(repoName, ref, path);
+        String etag = "\"" + file.getObjectId() + "\"";
+        long size = file.getSize();
+
+        if (headers.getIfNoneMatch().stream().anyMatch(tag -> tag.equals(etag) || tag.equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        long start = 0;
+        long length = size;
+        HttpStatus status = HttpStatus.OK;
+        List<HttpRange> ranges = rangesFor(headers, etag);
+        // Multiple ranges are answered with the whole file
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(size);
+            length = ranges.get(0).getRangeEnd(size) - start + 1;
+            status = HttpStatus.PARTIAL_CONTENT;
+            if (start >= size || length <= 0) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .eTag(etag)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+        }
+
+        long offset = start;
+        long count = length;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(etag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(length);
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+        }
+        return response.body(out -> fileService.writeRawFile(repoName, file, offset, count, out));
+    }
+
+    private static List<HttpRange> rangesFor(HttpHeaders headers, String etag) {
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return List.of();
+        }
+        try {
+            return headers.getRange();
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored
+            return List.of();
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.model.LockStats;
+import com.gitmanager.service.RepositoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/locks")
+public class LockController {
+
+    private final RepositoryService repositoryService;
+
+    public LockController(RepositoryService repositoryService) {
+        this.repositoryService = repositoryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<LockStats>> getLockStats() {
+        LockStats stats = repositoryService.getLockStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+}
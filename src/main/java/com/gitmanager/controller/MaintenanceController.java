@@ -0,0 +1,41 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.model.MaintenanceStats;
+import com.gitmanager.service.MaintenanceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class MaintenanceController {
+
+    private final MaintenanceService maintenanceService;
+
+    public MaintenanceController(MaintenanceService maintenanceService) {
+        this.maintenanceService = maintenanceService;
+    }
+
+    @GetMapping("/maintenance")
+    public ResponseEntity<ApiResponse<List<MaintenanceStats>>> getMaintenanceStats() {
+        List<MaintenanceStats> stats = maintenanceService.getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/repositories/{repoName}/maintenance")
+    public ResponseEntity<ApiResponse<MaintenanceStats>> getRepositoryMaintenanceStats(
+            @PathVariable String repoName) {
+        MaintenanceStats stats = maintenanceService.getStats(repoName);
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @PostMapping("/repositories/{repoName}/maintenance")
+    public ResponseEntity<ApiResponse<MaintenanceStats>> runRepositoryMaintenance(
+            @PathVariable String repoName,
+            @RequestParam(defaultValue = "false") boolean force) {
+        MaintenanceStats stats = maintenanceService.maintain(repoName, force);
+        return ResponseEntity.ok(ApiResponse.success("Maintenance finished", stats));
+    }
+}
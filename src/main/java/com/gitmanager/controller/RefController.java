@@ -0,0 +1,29 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.dto.ApiResponse;
+import com.gitmanager.dto.RefBatchRequest;
+import com.gitmanager.model.RefBatchResult;
+import com.gitmanager.service.RefService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/repositories/{repoName}/refs")
+public class RefController {
+
+    private final RefService refService;
+
+    public RefController(RefService refService) {
+        this.refService = refService;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<RefBatchResult>> applyBatch(
+            @PathVariable String repoName,
+            @Valid @RequestBody RefBatchRequest request) {
+        RefBatchResult result = refService.applyBatch(repoName, request);
+        String message = result.isSuccessful() ? "All ref updates applied" : "Some ref updates were rejected";
+        return ResponseEntity.ok(ApiResponse.success(message, result));
+    }
+}
@@ -3,12 +3,19 @@ package com.gitmanager.controller;
 import com.gitmanager.dto.ApiResponse;
 import com.gitmanager.dto.CloneRepositoryRequest;
 import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.dto.MoveRepositoryRequest;
+import com.gitmanager.model.CloneJob;
 import com.gitmanager.model.RepositoryInfo;
+import com.gitmanager.model.StorageRoot;
+import com.gitmanager.model.TrashEntry;
+import com.gitmanager.service.CloneJobService;
 import com.gitmanager.service.RepositoryService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,9 +24,11 @@ import java.util.List;
 public class RepositoryController {
 
     private final RepositoryService repositoryService;
+    private final CloneJobService cloneJobService;
 
-    public RepositoryController(RepositoryService repositoryService) {
+    public RepositoryController(RepositoryService repositoryService, CloneJobService cloneJobService) {
         this.repositoryService = repositoryService;
+        this.cloneJobService = cloneJobService;
     }
 
     @GetMapping
@@ -43,11 +52,34 @@ public class RepositoryController {
     }
 
     @PostMapping("/clone")
-    public ResponseEntity<ApiResponse<RepositoryInfo>> cloneRepository(
+    public ResponseEntity<ApiResponse<CloneJob>> cloneRepository(
             @Valid @RequestBody CloneRepositoryRequest request) {
-        RepositoryInfo repository = repositoryService.cloneRepository(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Repository cloned successfully", repository));
+        CloneJob job = cloneJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Clone job accepted", job));
+    }
+
+    @GetMapping("/clone/jobs")
+    public ResponseEntity<ApiResponse<List<CloneJob>>> listCloneJobs() {
+        List<CloneJob> jobs = cloneJobService.listJobs();
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+
+    @GetMapping("/clone/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<CloneJob>> getCloneJob(@PathVariable String jobId) {
+        CloneJob job = cloneJobService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
+    @GetMapping(value = "/clone/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCloneJob(@PathVariable String jobId) {
+        return cloneJobService.subscribe(jobId);
+    }
+
+    @DeleteMapping("/clone/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<CloneJob>> cancelCloneJob(@PathVariable String jobId) {
+        CloneJob job = cloneJobService.cancel(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Clone job cancellation requested", job));
     }
 
     @DeleteMapping("/{name}")
@@ -55,4 +87,24 @@ public class RepositoryController {
         repositoryService.deleteRepository(name);
         return ResponseEntity.ok(ApiResponse.success("Repository deleted successfully", null));
     }
+
+    @PostMapping("/{name}/move")
+    public ResponseEntity<ApiResponse<RepositoryInfo>> moveRepository(
+            @PathVariable String name,
+            @Valid @RequestBody MoveRepositoryRequest request) {
+        RepositoryInfo repository = repositoryService.moveRepository(name, request.getStorageRoot());
+        return ResponseEntity.ok(ApiResponse.success("Repository moved successfully", repository));
+    }
+
+    @GetMapping("/storage/roots")
+    public ResponseEntity<ApiResponse<List<StorageRoot>>> getStorageRoots() {
+        List<StorageRoot> roots = repositoryService.getStorageRoots();
+        return ResponseEntity.ok(ApiResponse.success(roots));
+    }
+
+    @GetMapping("/trash/status")
+    public ResponseEntity<ApiResponse<List<TrashEntry>>> getTrashStatus() {
+        List<TrashEntry> entries = repositoryService.getTrashEntries();
+        return ResponseEntity.ok(ApiResponse.success(entries));
+    }
 }
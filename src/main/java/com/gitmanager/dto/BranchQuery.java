@@ -0,0 +1,59 @@
+package com.gitmanager.dto;
+
+public class BranchQuery {
+
+    private boolean includeRemote;
+    private String compareTo;
+    private String filter;
+    private String sort;
+    private Integer limit;
+    private String cursor;
+
+    public boolean isIncludeRemote() {
+        return includeRemote;
+    }
+
+    public void setIncludeRemote(boolean includeRemote) {
+        this.includeRemote = includeRemote;
+    }
+
+    public String getCompareTo() {
+        return compareTo;
+    }
+
+    public void setCompareTo(String compareTo) {
+        this.compareTo = compareTo;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
@@ -1,6 +1,9 @@
 package com.gitmanager.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.time.OffsetDateTime;
 
 public class CloneRepositoryRequest {
 
@@ -13,6 +16,14 @@ public class CloneRepositoryRequest {
     private String branch;
     private boolean useSsh;
 
+    @Positive(message = "Clone depth must be positive")
+    private Integer depth;
+
+    private OffsetDateTime shallowSince;
+    private boolean singleBranch;
+    private boolean noTags;
+    private String storageRoot;
+
     public String getUrl() {
         return url;
     }
@@ -44,4 +55,44 @@ public class CloneRepositoryRequest {
     public void setUseSsh(boolean useSsh) {
         this.useSsh = useSsh;
     }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public OffsetDateTime getShallowSince() {
+        return shallowSince;
+    }
+
+    public void setShallowSince(OffsetDateTime shallowSince) {
+        this.shallowSince = shallowSince;
+    }
+
+    public boolean isSingleBranch() {
+        return singleBranch;
+    }
+
+    public void setSingleBranch(boolean singleBranch) {
+        this.singleBranch = singleBranch;
+    }
+
+    public boolean isNoTags() {
+        return noTags;
+    }
+
+    public void setNoTags(boolean noTags) {
+        this.noTags = noTags;
+    }
+
+    public String getStorageRoot() {
+        return storageRoot;
+    }
+
+    public void setStorageRoot(String storageRoot) {
+        this.storageRoot = storageRoot;
+    }
 }
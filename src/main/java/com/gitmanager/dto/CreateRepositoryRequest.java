@@ -3,6 +3,8 @@ package com.gitmanager.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
+import java.time.Duration;
+
 public class CreateRepositoryRequest {
 
     @NotBlank(message = "Repository name is required")
@@ -11,6 +13,11 @@ public class CreateRepositoryRequest {
 
     private String description;
     private boolean bare;
+    private String storageRoot;
+    private boolean ephemeral;
+    private Duration ttl;
+    private String sourceUrl;
+    private boolean useSsh;
 
     public String getName() {
         return name;
@@ -35,4 +42,44 @@ public class CreateRepositoryRequest {
     public void setBare(boolean bare) {
         this.bare = bare;
     }
+
+    public String getStorageRoot() {
+        return storageRoot;
+    }
+
+    public void setStorageRoot(String storageRoot) {
+        this.storageRoot = storageRoot;
+    }
+
+    public boolean isEphemeral() {
+        return ephemeral;
+    }
+
+    public void setEphemeral(boolean ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public void setSourceUrl(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+    }
+
+    public boolean isUseSsh() {
+        return useSsh;
+    }
+
+    public void setUseSsh(boolean useSsh) {
+        this.useSsh = useSsh;
+    }
 }
@@ -7,6 +7,7 @@ public class MergeBranchRequest {
     @NotBlank(message = "Source branch name is required")
     private String sourceBranch;
 
+    private String targetBranch;
     private String message;
     private boolean squash;
 
@@ -18,6 +19,14 @@ public class MergeBranchRequest {
         this.sourceBranch = sourceBranch;
     }
 
+    public String getTargetBranch() {
+        return targetBranch;
+    }
+
+    public void setTargetBranch(String targetBranch) {
+        this.targetBranch = targetBranch;
+    }
+
     public String getMessage() {
         return message;
     }
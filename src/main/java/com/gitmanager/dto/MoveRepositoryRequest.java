@@ -0,0 +1,17 @@
+package com.gitmanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class MoveRepositoryRequest {
+
+    @NotBlank(message = "Storage root is required")
+    private String storageRoot;
+
+    public String getStorageRoot() {
+        return storageRoot;
+    }
+
+    public void setStorageRoot(String storageRoot) {
+        this.storageRoot = storageRoot;
+    }
+}
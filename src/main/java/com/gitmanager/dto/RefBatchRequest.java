@@ -0,0 +1,42 @@
+package com.gitmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RefBatchRequest {
+
+    @NotEmpty(message = "At least one command is required")
+    @Size(max = 10000, message = "At most 10000 commands per batch")
+    private List<@Valid RefCommandRequest> commands = new ArrayList<>();
+
+    private boolean atomic = true;
+    private String message;
+
+    public List<RefCommandRequest> getCommands() {
+        return commands;
+    }
+
+    public void setCommands(List<RefCommandRequest> commands) {
+        this.commands = commands;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
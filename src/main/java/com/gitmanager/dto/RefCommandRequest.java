@@ -0,0 +1,52 @@
+package com.gitmanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class RefCommandRequest {
+
+    @NotBlank(message = "Ref name is required")
+    private String ref;
+
+    @NotNull(message = "Command type is required")
+    private Type type;
+
+    private String newRevision;
+    private String expectedOldId;
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getNewRevision() {
+        return newRevision;
+    }
+
+    public void setNewRevision(String newRevision) {
+        this.newRevision = newRevision;
+    }
+
+    public String getExpectedOldId() {
+        return expectedOldId;
+    }
+
+    public void setExpectedOldId(String expectedOldId) {
+        this.expectedOldId = expectedOldId;
+    }
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
@@ -50,10 +50,14 @@ public class GlobalExceptionHandler {
 
     private HttpStatus mapErrorCodeToStatus(RepositoryException.ErrorCode errorCode) {
         return switch (errorCode) {
-            case REPOSITORY_NOT_FOUND, BRANCH_NOT_FOUND, TAG_NOT_FOUND, FILE_NOT_FOUND -> HttpStatus.NOT_FOUND;
-            case REPOSITORY_ALREADY_EXISTS, BRANCH_ALREADY_EXISTS, TAG_ALREADY_EXISTS -> HttpStatus.CONFLICT;
+            case REPOSITORY_NOT_FOUND, BRANCH_NOT_FOUND, TAG_NOT_FOUND, FILE_NOT_FOUND, CLONE_JOB_NOT_FOUND ->
+                    HttpStatus.NOT_FOUND;
+            case REPOSITORY_ALREADY_EXISTS, BRANCH_ALREADY_EXISTS, TAG_ALREADY_EXISTS, REF_UPDATE_REJECTED ->
+                    HttpStatus.CONFLICT;
             case INVALID_OPERATION, MERGE_CONFLICT -> HttpStatus.BAD_REQUEST;
             case SSH_ERROR, CLONE_FAILED -> HttpStatus.BAD_GATEWAY;
+            case CLONE_QUEUE_FULL, LOCK_TIMEOUT -> HttpStatus.SERVICE_UNAVAILABLE;
+            case EPHEMERAL_CAPACITY_EXCEEDED -> HttpStatus.INSUFFICIENT_STORAGE;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
@@ -38,6 +38,11 @@ public class RepositoryException extends RuntimeException {
         INVALID_OPERATION,
         SSH_ERROR,
         CLONE_FAILED,
+        CLONE_JOB_NOT_FOUND,
+        CLONE_QUEUE_FULL,
+        EPHEMERAL_CAPACITY_EXCEEDED,
+        LOCK_TIMEOUT,
+        REF_UPDATE_REJECTED,
         MERGE_CONFLICT,
         FILE_NOT_FOUND,
         INTERNAL_ERROR
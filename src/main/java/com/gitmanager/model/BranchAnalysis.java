@@ -0,0 +1,167 @@
+package com.gitmanager.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BranchAnalysis {
+
+    private String repositoryName;
+    private String base;
+    private String baseCommitId;
+    private LocalDateTime analyzedAt;
+    private LocalDateTime staleBefore;
+    private long durationMillis;
+    private int totalBranches;
+    private int mergedCount;
+    private int staleCount;
+    private List<AnalyzedBranch> branches = new ArrayList<>();
+
+    public BranchAnalysis() {
+    }
+
+    public BranchAnalysis(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public void setRepositoryName(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
+
+    public String getBaseCommitId() {
+        return baseCommitId;
+    }
+
+    public void setBaseCommitId(String baseCommitId) {
+        this.baseCommitId = baseCommitId;
+    }
+
+    public LocalDateTime getAnalyzedAt() {
+        return analyzedAt;
+    }
+
+    public void setAnalyzedAt(LocalDateTime analyzedAt) {
+        this.analyzedAt = analyzedAt;
+    }
+
+    public LocalDateTime getStaleBefore() {
+        return staleBefore;
+    }
+
+    public void setStaleBefore(LocalDateTime staleBefore) {
+        this.staleBefore = staleBefore;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public int getTotalBranches() {
+        return totalBranches;
+    }
+
+    public void setTotalBranches(int totalBranches) {
+        this.totalBranches = totalBranches;
+    }
+
+    public int getMergedCount() {
+        return mergedCount;
+    }
+
+    public void setMergedCount(int mergedCount) {
+        this.mergedCount = mergedCount;
+    }
+
+    public int getStaleCount() {
+        return staleCount;
+    }
+
+    public void setStaleCount(int staleCount) {
+        this.staleCount = staleCount;
+    }
+
+    public List<AnalyzedBranch> getBranches() {
+        return branches;
+    }
+
+    public void setBranches(List<AnalyzedBranch> branches) {
+        this.branches = branches;
+    }
+
+    public static class AnalyzedBranch {
+
+        private String name;
+        private String commitId;
+        private LocalDateTime lastCommitDate;
+        private boolean merged;
+        private boolean stale;
+
+        public AnalyzedBranch() {
+        }
+
+        public AnalyzedBranch(String name, String commitId, LocalDateTime lastCommitDate, boolean merged,
+                              boolean stale) {
+            this.name = name;
+            this.commitId = commitId;
+            this.lastCommitDate = lastCommitDate;
+            this.merged = merged;
+            this.stale = stale;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getCommitId() {
+            return commitId;
+        }
+
+        public void setCommitId(String commitId) {
+            this.commitId = commitId;
+        }
+
+        public LocalDateTime getLastCommitDate() {
+            return lastCommitDate;
+        }
+
+        public void setLastCommitDate(LocalDateTime lastCommitDate) {
+            this.lastCommitDate = lastCommitDate;
+        }
+
+        public boolean isMerged() {
+            return merged;
+        }
+
+        public void setMerged(boolean merged) {
+            this.merged = merged;
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+
+        public void setStale(boolean stale) {
+            this.stale = stale;
+        }
+    }
+}
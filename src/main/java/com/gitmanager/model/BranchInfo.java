@@ -11,6 +11,10 @@ public class BranchInfo {
     private LocalDateTime commitDate;
     private boolean isRemote;
     private boolean isCurrent;
+    private String compareTo;
+    private Integer ahead;
+    private Integer behind;
+    private String mergeBase;
 
     public BranchInfo() {
     }
@@ -81,4 +85,36 @@ public class BranchInfo {
     public void setCurrent(boolean current) {
         isCurrent = current;
     }
+
+    public String getCompareTo() {
+        return compareTo;
+    }
+
+    public void setCompareTo(String compareTo) {
+        this.compareTo = compareTo;
+    }
+
+    public Integer getAhead() {
+        return ahead;
+    }
+
+    public void setAhead(Integer ahead) {
+        this.ahead = ahead;
+    }
+
+    public Integer getBehind() {
+        return behind;
+    }
+
+    public void setBehind(Integer behind) {
+        this.behind = behind;
+    }
+
+    public String getMergeBase() {
+        return mergeBase;
+    }
+
+    public void setMergeBase(String mergeBase) {
+        this.mergeBase = mergeBase;
+    }
 }
@@ -0,0 +1,115 @@
+package com.gitmanager.model;
+
+import java.time.LocalDateTime;
+
+public class CloneJob {
+
+    private final String id;
+    private final String repositoryName;
+    private final String url;
+    private final LocalDateTime createdAt;
+    private volatile JobStatus status;
+    private volatile String phase;
+    private volatile int totalWork;
+    private volatile int completedWork;
+    private volatile long bytesReceived;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public CloneJob(String id, String repositoryName, String url) {
+        this.id = id;
+        this.repositoryName = repositoryName;
+        this.url = url;
+        this.createdAt = LocalDateTime.now();
+        this.status = JobStatus.QUEUED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public int getTotalWork() {
+        return totalWork;
+    }
+
+    public void setTotalWork(int totalWork) {
+        this.totalWork = totalWork;
+    }
+
+    public int getCompletedWork() {
+        return completedWork;
+    }
+
+    public void setCompletedWork(int completedWork) {
+        this.completedWork = completedWork;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED || status == JobStatus.CANCELLED;
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
@@ -9,6 +9,8 @@ public class FileTreeNode {
     private String path;
     private FileType type;
     private long size;
+    private String mode;
+    private String objectId;
     private List<FileTreeNode> children;
 
     public FileTreeNode() {
@@ -55,6 +57,22 @@ public class FileTreeNode {
         this.size = size;
     }
 
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(String objectId) {
+        this.objectId = objectId;
+    }
+
     public List<FileTreeNode> getChildren() {
         return children;
     }
@@ -68,6 +86,6 @@ public class FileTreeNode {
     }
 
     public enum FileType {
-        FILE, DIRECTORY, SYMLINK
+        FILE, DIRECTORY, SYMLINK, SUBMODULE
     }
 }
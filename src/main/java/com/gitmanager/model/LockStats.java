@@ -0,0 +1,142 @@
+package com.gitmanager.model;
+
+public class LockStats {
+
+    private int stripes;
+    private long waitTimeoutMillis;
+    private int queuedThreads;
+    private int activeReaders;
+    private int activeWriters;
+    private ModeStats read;
+    private ModeStats write;
+
+    public LockStats() {
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public long getWaitTimeoutMillis() {
+        return waitTimeoutMillis;
+    }
+
+    public void setWaitTimeoutMillis(long waitTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    public int getQueuedThreads() {
+        return queuedThreads;
+    }
+
+    public void setQueuedThreads(int queuedThreads) {
+        this.queuedThreads = queuedThreads;
+    }
+
+    public int getActiveReaders() {
+        return activeReaders;
+    }
+
+    public void setActiveReaders(int activeReaders) {
+        this.activeReaders = activeReaders;
+    }
+
+    public int getActiveWriters() {
+        return activeWriters;
+    }
+
+    public void setActiveWriters(int activeWriters) {
+        this.activeWriters = activeWriters;
+    }
+
+    public ModeStats getRead() {
+        return read;
+    }
+
+    public void setRead(ModeStats read) {
+        this.read = read;
+    }
+
+    public ModeStats getWrite() {
+        return write;
+    }
+
+    public void setWrite(ModeStats write) {
+        this.write = write;
+    }
+
+    public static class ModeStats {
+
+        private long acquired;
+        private long timeouts;
+        private long totalWaitMillis;
+        private long maxWaitMillis;
+        private long totalHoldMillis;
+        private long maxHoldMillis;
+
+        public ModeStats() {
+        }
+
+        public ModeStats(long acquired, long timeouts, long totalWaitMillis, long maxWaitMillis,
+                         long totalHoldMillis, long maxHoldMillis) {
+            this.acquired = acquired;
+            this.timeouts = timeouts;
+            this.totalWaitMillis = totalWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.totalHoldMillis = totalHoldMillis;
+            this.maxHoldMillis = maxHoldMillis;
+        }
+
+        public long getAcquired() {
+            return acquired;
+        }
+
+        public void setAcquired(long acquired) {
+            this.acquired = acquired;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public void setTimeouts(long timeouts) {
+            this.timeouts = timeouts;
+        }
+
+        public long getTotalWaitMillis() {
+            return totalWaitMillis;
+        }
+
+        public void setTotalWaitMillis(long totalWaitMillis) {
+            this.totalWaitMillis = totalWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public void setMaxWaitMillis(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public long getTotalHoldMillis() {
+            return totalHoldMillis;
+        }
+
+        public void setTotalHoldMillis(long totalHoldMillis) {
+            this.totalHoldMillis = totalHoldMillis;
+        }
+
+        public long getMaxHoldMillis() {
+            return maxHoldMillis;
+        }
+
+        public void setMaxHoldMillis(long maxHoldMillis) {
+            this.maxHoldMillis = maxHoldMillis;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.gitmanager.model;
+
+import java.time.LocalDateTime;
+
+public class MaintenanceStats {
+
+    private String repositoryName;
+    private MaintenanceStatus status;
+    private String message;
+    private LocalDateTime lastCheckedAt;
+    private LocalDateTime lastRunAt;
+    private long durationMillis;
+    private long looseObjectsBefore;
+    private long looseObjectsAfter;
+    private long packFilesBefore;
+    private long packFilesAfter;
+    private long looseRefsBefore;
+    private long looseRefsAfter;
+    private long bitmaps;
+    private boolean commitGraph;
+
+    public MaintenanceStats() {
+    }
+
+    public MaintenanceStats(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public void setRepositoryName(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public MaintenanceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MaintenanceStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    public void setLastCheckedAt(LocalDateTime lastCheckedAt) {
+        this.lastCheckedAt = lastCheckedAt;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getLooseObjectsBefore() {
+        return looseObjectsBefore;
+    }
+
+    public void setLooseObjectsBefore(long looseObjectsBefore) {
+        this.looseObjectsBefore = looseObjectsBefore;
+    }
+
+    public long getLooseObjectsAfter() {
+        return looseObjectsAfter;
+    }
+
+    public void setLooseObjectsAfter(long looseObjectsAfter) {
+        this.looseObjectsAfter = looseObjectsAfter;
+    }
+
+    public long getPackFilesBefore() {
+        return packFilesBefore;
+    }
+
+    public void setPackFilesBefore(long packFilesBefore) {
+        this.packFilesBefore = packFilesBefore;
+    }
+
+    public long getPackFilesAfter() {
+        return packFilesAfter;
+    }
+
+    public void setPackFilesAfter(long packFilesAfter) {
+        this.packFilesAfter = packFilesAfter;
+    }
+
+    public long getLooseRefsBefore() {
+        return looseRefsBefore;
+    }
+
+    public void setLooseRefsBefore(long looseRefsBefore) {
+        this.looseRefsBefore = looseRefsBefore;
+    }
+
+    public long getLooseRefsAfter() {
+        return looseRefsAfter;
+    }
+
+    public void setLooseRefsAfter(long looseRefsAfter) {
+        this.looseRefsAfter = looseRefsAfter;
+    }
+
+    public long getBitmaps() {
+        return bitmaps;
+    }
+
+    public void setBitmaps(long bitmaps) {
+        this.bitmaps = bitmaps;
+    }
+
+    public boolean isCommitGraph() {
+        return commitGraph;
+    }
+
+    public void setCommitGraph(boolean commitGraph) {
+        this.commitGraph = commitGraph;
+    }
+
+    public enum MaintenanceStatus {
+        SKIPPED, SUCCEEDED, FAILED
+    }
+}
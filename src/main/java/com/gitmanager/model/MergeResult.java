@@ -1,11 +1,15 @@
 package com.gitmanager.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class MergeResult {
 
     private boolean successful;
     private String mergedCommitId;
     private String message;
     private MergeStatus status;
+    private List<String> conflicts = new ArrayList<>();
 
     public MergeResult() {
     }
@@ -49,6 +53,14 @@ public class MergeResult {
         this.status = status;
     }
 
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<String> conflicts) {
+        this.conflicts = conflicts;
+    }
+
     public enum MergeStatus {
         MERGED, FAST_FORWARD, ALREADY_UP_TO_DATE, CONFLICTING, FAILED, ABORTED
     }
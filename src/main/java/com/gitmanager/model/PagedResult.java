@@ -0,0 +1,36 @@
+package com.gitmanager.model;
+
+import java.util.List;
+
+/**
+ * One page of a listing. {@code nextCursor} is {@code null} on the last page.
+ */
+public class PagedResult<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public PagedResult() {
+    }
+
+    public PagedResult(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.gitmanager.model;
+
+public class RawFile {
+
+    private String path;
+    private String objectId;
+    private long size;
+
+    public RawFile() {
+    }
+
+    public RawFile(String path, String objectId, long size) {
+        this.path = path;
+        this.objectId = objectId;
+        this.size = size;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(String objectId) {
+        this.objectId = objectId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gitmanager.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RefBatchResult {
+
+    private boolean successful;
+    private boolean atomic;
+    private List<RefCommandResult> results = new ArrayList<>();
+
+    public RefBatchResult() {
+    }
+
+    public RefBatchResult(boolean successful, boolean atomic, List<RefCommandResult> results) {
+        this.successful = successful;
+        this.atomic = atomic;
+        this.results = results;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+
+    public List<RefCommandResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RefCommandResult> results) {
+        this.results = results;
+    }
+
+    public static class RefCommandResult {
+
+        private String ref;
+        private String type;
+        private String oldId;
+        private String newId;
+        private String status;
+        private String message;
+
+        public RefCommandResult() {
+        }
+
+        public RefCommandResult(String ref, String type, String oldId, String newId, String status,
+                                String message) {
+            this.ref = ref;
+            this.type = type;
+            this.oldId = oldId;
+            this.newId = newId;
+            this.status = status;
+            this.message = message;
+        }
+
+        public String getRef() {
+            return ref;
+        }
+
+        public void setRef(String ref) {
+            this.ref = ref;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public String getOldId() {
+            return oldId;
+        }
+
+        public void setOldId(String oldId) {
+            this.oldId = oldId;
+        }
+
+        public String getNewId() {
+            return newId;
+        }
+
+        public void setNewId(String newId) {
+            this.newId = newId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
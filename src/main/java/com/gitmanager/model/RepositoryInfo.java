@@ -11,6 +11,13 @@ public class RepositoryInfo {
     private LocalDateTime createdAt;
     private LocalDateTime lastModified;
     private boolean bare;
+    private boolean shallow;
+    private String defaultBranch;
+    private long sizeBytes;
+    private int branchCount;
+    private int tagCount;
+    private boolean ephemeral;
+    private LocalDateTime expiresAt;
 
     public RepositoryInfo() {
     }
@@ -81,4 +88,60 @@ public class RepositoryInfo {
     public void setBare(boolean bare) {
         this.bare = bare;
     }
+
+    public boolean isShallow() {
+        return shallow;
+    }
+
+    public void setShallow(boolean shallow) {
+        this.shallow = shallow;
+    }
+
+    public String getDefaultBranch() {
+        return defaultBranch;
+    }
+
+    public void setDefaultBranch(String defaultBranch) {
+        this.defaultBranch = defaultBranch;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getBranchCount() {
+        return branchCount;
+    }
+
+    public void setBranchCount(int branchCount) {
+        this.branchCount = branchCount;
+    }
+
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    public void setTagCount(int tagCount) {
+        this.tagCount = tagCount;
+    }
+
+    public boolean isEphemeral() {
+        return ephemeral;
+    }
+
+    public void setEphemeral(boolean ephemeral) {
+        this.ephemeral = ephemeral;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
@@ -0,0 +1,117 @@
+package com.gitmanager.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted description of a repository, kept up to date by the services that write to it
+ * so that {@link RepositoryInfo} can be served without opening the repository.
+ */
+public class RepositoryMetadata {
+
+    private String name;
+    private String description;
+    private String defaultBranch;
+    private String currentBranch;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long sizeBytes;
+    private int branchCount;
+    private int tagCount;
+    private boolean bare;
+    private boolean shallow;
+
+    public RepositoryMetadata() {
+    }
+
+    public RepositoryMetadata(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getDefaultBranch() {
+        return defaultBranch;
+    }
+
+    public void setDefaultBranch(String defaultBranch) {
+        this.defaultBranch = defaultBranch;
+    }
+
+    public String getCurrentBranch() {
+        return currentBranch;
+    }
+
+    public void setCurrentBranch(String currentBranch) {
+        this.currentBranch = currentBranch;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getBranchCount() {
+        return branchCount;
+    }
+
+    public void setBranchCount(int branchCount) {
+        this.branchCount = branchCount;
+    }
+
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    public void setTagCount(int tagCount) {
+        this.tagCount = tagCount;
+    }
+
+    public boolean isBare() {
+        return bare;
+    }
+
+    public void setBare(boolean bare) {
+        this.bare = bare;
+    }
+
+    public boolean isShallow() {
+        return shallow;
+    }
+
+    public void setShallow(boolean shallow) {
+        this.shallow = shallow;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gitmanager.model;
+
+public class StorageRoot {
+
+    private String path;
+    private int repositoryCount;
+    private long usableBytes;
+    private long totalBytes;
+
+    public StorageRoot() {
+    }
+
+    public StorageRoot(String path, int repositoryCount) {
+        this.path = path;
+        this.repositoryCount = repositoryCount;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getRepositoryCount() {
+        return repositoryCount;
+    }
+
+    public void setRepositoryCount(int repositoryCount) {
+        this.repositoryCount = repositoryCount;
+    }
+
+    public long getUsableBytes() {
+        return usableBytes;
+    }
+
+    public void setUsableBytes(long usableBytes) {
+        this.usableBytes = usableBytes;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+}
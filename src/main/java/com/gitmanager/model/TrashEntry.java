@@ -0,0 +1,87 @@
+package com.gitmanager.model;
+
+import java.time.LocalDateTime;
+
+public class TrashEntry {
+
+    private final String repositoryName;
+    private final String trashPath;
+    private final LocalDateTime trashedAt;
+    private volatile ReclaimStatus status;
+    private volatile long filesDeleted;
+    private volatile long bytesReclaimed;
+    private volatile long failures;
+    private volatile String lastError;
+    private volatile LocalDateTime finishedAt;
+
+    public TrashEntry(String repositoryName, String trashPath, LocalDateTime trashedAt) {
+        this.repositoryName = repositoryName;
+        this.trashPath = trashPath;
+        this.trashedAt = trashedAt;
+        this.status = ReclaimStatus.PENDING;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public String getTrashPath() {
+        return trashPath;
+    }
+
+    public LocalDateTime getTrashedAt() {
+        return trashedAt;
+    }
+
+    public ReclaimStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReclaimStatus status) {
+        this.status = status;
+    }
+
+    public long getFilesDeleted() {
+        return filesDeleted;
+    }
+
+    public void setFilesDeleted(long filesDeleted) {
+        this.filesDeleted = filesDeleted;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    public void setBytesReclaimed(long bytesReclaimed) {
+        this.bytesReclaimed = bytesReclaimed;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public enum ReclaimStatus {
+        PENDING, RECLAIMING, RECLAIMED, FAILED
+    }
+}
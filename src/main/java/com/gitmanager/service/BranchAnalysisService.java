@@ -0,0 +1,199 @@
+package com.gitmanager.service;
+
+import com.gitmanager.cache.RefSnapshot;
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.BranchAnalysis;
+import com.gitmanager.model.BranchAnalysis.AnalyzedBranch;
+import com.gitmanager.model.RepositoryInfo;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds branches that are fully merged into a base branch or have not been committed to
+ * for a configurable time, so they can be cleaned up in bulk.
+ */
+@Service
+public class BranchAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BranchAnalysisService.class);
+
+    private final RepositoryService repositoryService;
+    private final GitRepositoryConfig.BranchAnalysis config;
+    private final Map<String, BranchAnalysis> results = new ConcurrentHashMap<>();
+
+    public BranchAnalysisService(RepositoryService repositoryService, GitRepositoryConfig config) {
+        this.repositoryService = repositoryService;
+        this.config = config.getBranchAnalysis();
+    }
+
+    @Scheduled(initialDelayString = "${git.repository.branch-analysis.initial-delay:PT10M}",
+            fixedDelayString = "${git.repository.branch-analysis.interval:PT6H}")
+    public void runScheduledAnalysis() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        List<RepositoryInfo> repositories = repositoryService.listRepositories();
+        // Drop the results of repositories that no longer exist
+        results.keySet().retainAll(repositories.stream().map(RepositoryInfo::getName).toList());
+        for (RepositoryInfo repository : repositories) {
+            if (repositoryService.isEphemeral(repository.getName())) {
+                continue;
+            }
+            try {
+                analyze(repository.getName(), null);
+            } catch (RepositoryException e) {
+                logger.warn("Branch analysis failed for repository {}: {}", repository.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the latest analysis of a repository, running one if there is none yet or the
+     * stored one predates the repository, i.e. belongs to a deleted one of the same name.
+     */
+    public BranchAnalysis getAnalysis(String repoName) {
+        RepositoryInfo info;
+        try {
+            info = repositoryService.getRepositoryInfo(repoName);
+        } catch (RepositoryException e) {
+            results.remove(repoName);
+            throw e;
+        }
+        BranchAnalysis analysis = results.get(repoName);
+        if (analysis != null
+                && (info.getCreatedAt() == null || !analysis.getAnalyzedAt().isBefore(info.getCreatedAt()))) {
+            return analysis;
+        }
+        return analyze(repoName, null);
+    }
+
+    /**
+     * Analyzes the local branches of a repository against {@code base}, or against the
+     * configured base branch, or HEAD's branch when neither is set.
+     */
+    public BranchAnalysis analyze(String repoName, String base) {
+        long start = System.currentTimeMillis();
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
+
+            RefSnapshot snapshot = repositoryService.getRefSnapshot(repoName, repository);
+            String baseName = base != null ? base
+                    : config.getBase() != null ? config.getBase()
+                    : snapshot.getCurrentBranch();
+            if (baseName == null) {
+                throw new RepositoryException("Repository has no base branch to analyze against",
+                        ErrorCode.INVALID_OPERATION);
+            }
+            Ref baseRef = snapshot.getBranch(baseName);
+            if (baseRef == null || baseRef.getObjectId() == null) {
+                throw new RepositoryException("Branch not found: " + baseName, ErrorCode.BRANCH_NOT_FOUND);
+            }
+            ObjectId baseId = baseRef.getObjectId();
+
+            List<Ref> branches = new ArrayList<>();
+            for (Ref ref : snapshot.getBranches()) {
+                if (ref.getObjectId() != null && !ref.getName().equals(baseRef.getName())) {
+                    branches.add(ref);
+                }
+            }
+            List<ObjectId> tips = branches.stream().map(Ref::getObjectId).toList();
+
+            Set<ObjectId> merged = findReachable(repository, baseId, tips);
+            Map<ObjectId, Long> times = repositoryService.getCommitSummaryCache().commitTimes(repository, tips);
+
+            Instant staleBefore = Instant.now().minus(config.getStaleAfter());
+            List<AnalyzedBranch> entries = new ArrayList<>();
+            for (Ref ref : branches) {
+                ObjectId tip = ref.getObjectId();
+                boolean isMerged = merged.contains(tip);
+                Long time = times.get(tip);
+                Instant commitTime = time != null ? Instant.ofEpochSecond(time) : null;
+                boolean stale = commitTime != null && commitTime.isBefore(staleBefore);
+                if (isMerged || stale) {
+                    entries.add(new AnalyzedBranch(Repository.shortenRefName(ref.getName()), tip.getName(),
+                            toLocalDateTime(commitTime), isMerged, stale));
+                }
+            }
+            entries.sort(Comparator.comparing(AnalyzedBranch::getLastCommitDate,
+                    Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(AnalyzedBranch::getName));
+
+            BranchAnalysis analysis = new BranchAnalysis(repoName);
+            analysis.setBase(Repository.shortenRefName(baseRef.getName()));
+            analysis.setBaseCommitId(baseId.getName());
+            analysis.setAnalyzedAt(LocalDateTime.now());
+            analysis.setStaleBefore(toLocalDateTime(staleBefore));
+            analysis.setTotalBranches(branches.size());
+            analysis.setMergedCount((int) entries.stream().filter(AnalyzedBranch::isMerged).count());
+            analysis.setStaleCount((int) entries.stream().filter(AnalyzedBranch::isStale).count());
+            analysis.setBranches(entries);
+            analysis.setDurationMillis(System.currentTimeMillis() - start);
+            results.put(repoName, analysis);
+
+            logger.debug("Analyzed {} branches of repository {} against {} in {} ms: {} merged, {} stale",
+                    branches.size(), repoName, analysis.getBase(), analysis.getDurationMillis(),
+                    analysis.getMergedCount(), analysis.getStaleCount());
+            return analysis;
+
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to analyze branches: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the tips that are reachable from the base, i.e. merged into it. A single walk
+     * from the base flags every commit it passes and stops once all tips have been seen, so
+     * only tips ahead of the base cost a walk of its full history.
+     */
+    private static Set<ObjectId> findReachable(Repository repository, ObjectId baseId, List<ObjectId> tips)
+            throws IOException {
+        Set<ObjectId> reachable = new HashSet<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setRetainBody(false);
+            RevFlag tipFlag = walk.newFlag("TIP");
+            int remaining = 0;
+            for (ObjectId tip : tips) {
+                RevObject object = walk.parseAny(tip);
+                if (object instanceof RevCommit commit && !commit.has(tipFlag)) {
+                    commit.add(tipFlag);
+                    remaining++;
+                }
+            }
+
+            walk.markStart(walk.parseCommit(baseId));
+            for (RevCommit commit = walk.next(); commit != null && remaining > 0; commit = walk.next()) {
+                if (commit.has(tipFlag)) {
+                    reachable.add(commit.copy());
+                    remaining--;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
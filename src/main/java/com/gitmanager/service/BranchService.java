@@ -1,30 +1,45 @@
 package com.gitmanager.service;
 
+import com.gitmanager.cache.AheadBehind;
+import com.gitmanager.cache.CommitSummary;
+import com.gitmanager.cache.MergeCheck;
+import com.gitmanager.cache.RefSnapshot;
+import com.gitmanager.dto.BranchQuery;
 import com.gitmanager.dto.CreateBranchRequest;
 import com.gitmanager.dto.MergeBranchRequest;
 import com.gitmanager.exception.RepositoryException;
 import com.gitmanager.exception.RepositoryException.ErrorCode;
 import com.gitmanager.model.BranchInfo;
 import com.gitmanager.model.MergeResult;
+import com.gitmanager.model.PagedResult;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.ListBranchCommand;
 import org.eclipse.jgit.api.MergeCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.merge.MergeStrategy;
+import org.eclipse.jgit.merge.ResolveMerger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 @Service
 public class BranchService {
@@ -40,44 +55,187 @@ public class BranchService {
     }
 
     public List<BranchInfo> listBranches(String repoName, boolean includeRemote) {
-        List<BranchInfo> branches = new ArrayList<>();
+        return listBranches(repoName, includeRemote, null);
+    }
 
-        try (Repository repository = repositoryService.openRepository(repoName);
-             Git git = new Git(repository)) {
+    public List<BranchInfo> listBranches(String repoName, boolean includeRemote, String compareTo) {
+        BranchQuery query = new BranchQuery();
+        query.setIncludeRemote(includeRemote);
+        query.setCompareTo(compareTo);
+        return listBranches(repoName, query).getItems();
+    }
 
-            String currentBranch = repository.getBranch();
+    /**
+     * Lists one page of branches, optionally filtered by a name prefix or glob and sorted by
+     * name or by most recent commit. Only the page is hydrated with commit details, and with
+     * {@code compareTo} set, ahead/behind counts and merge base against that revision.
+     * <p>
+     * The page is picked with a heap bounded by the limit, so sorting by commit date only
+     * needs each tip's commit time, which comes from the commit-graph where there is one.
+     */
+    public PagedResult<BranchInfo> listBranches(String repoName, BranchQuery query) {
+        BranchSort sort = BranchSort.parse(query.getSort());
+        Pattern filter = compileFilter(query.getFilter());
+        int limit = query.getLimit() != null ? Math.max(1, query.getLimit()) : Integer.MAX_VALUE;
+
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
+
+            RefSnapshot snapshot = repositoryService.getRefSnapshot(repoName, repository);
+            String currentBranch = snapshot.getCurrentBranch();
+
+            List<Ref> refs = new ArrayList<>(snapshot.getBranches());
+            if (query.isIncludeRemote()) {
+                refs.addAll(snapshot.getRemoteBranches());
+            }
+
+            List<BranchCandidate> candidates = new ArrayList<>();
+            for (Ref ref : refs) {
+                String name = branchName(ref);
+                if (filter == null || filter.matcher(name).matches()) {
+                    candidates.add(new BranchCandidate(ref, name));
+                }
+            }
 
-            ListBranchCommand.ListMode listMode = includeRemote 
-                    ? ListBranchCommand.ListMode.ALL 
-                    : null;
+            if (sort == BranchSort.COMMITTERDATE) {
+                Map<ObjectId, Long> times = repositoryService.getCommitSummaryCache().commitTimes(repository,
+                        candidates.stream().map(c -> c.ref.getObjectId()).filter(Objects::nonNull).toList());
+                for (BranchCandidate candidate : candidates) {
+                    candidate.commitTime = times.getOrDefault(candidate.ref.getObjectId(), Long.MIN_VALUE);
+                }
+            }
 
-            List<Ref> refs = git.branchList()
-                    .setListMode(listMode)
-                    .call();
+            Comparator<BranchCandidate> order = sort.order;
+            BranchCandidate after = decodeCursor(query.getCursor(), sort);
 
-            for (Ref ref : refs) {
-                BranchInfo branchInfo = createBranchInfo(repository, ref, currentBranch);
-                branches.add(branchInfo);
+            // Keep the first limit + 1 candidates after the cursor; the extra one tells
+            // whether there is a next page
+            PriorityQueue<BranchCandidate> heap = new PriorityQueue<>(order.reversed());
+            for (BranchCandidate candidate : candidates) {
+                if (after != null && order.compare(candidate, after) <= 0) {
+                    continue;
+                }
+                heap.add(candidate);
+                if (heap.size() > (long) limit + 1) {
+                    heap.poll();
+                }
             }
+            List<BranchCandidate> page = new ArrayList<>(heap);
+            page.sort(order);
 
-        } catch (GitAPIException | IOException e) {
+            String nextCursor = null;
+            if (page.size() > limit) {
+                page = page.subList(0, limit);
+                nextCursor = encodeCursor(page.get(page.size() - 1), sort);
+            }
+
+            return new PagedResult<>(hydrate(repoName, repository, page, currentBranch, query.getCompareTo()),
+                    nextCursor);
+
+        } catch (IOException e) {
             throw new RepositoryException("Failed to list branches: " + e.getMessage(), e);
         }
+    }
+
+    private List<BranchInfo> hydrate(String repoName, Repository repository, List<BranchCandidate> page,
+                                     String currentBranch, String compareTo) throws IOException {
+        // Resolve every tip in one pass instead of one walk per branch
+        List<ObjectId> tips = page.stream().map(c -> c.ref.getObjectId()).filter(Objects::nonNull).toList();
+        Map<ObjectId, CommitSummary> summaries = repositoryService.getCommitSummaryCache()
+                .resolve(repository, tips);
+
+        Map<ObjectId, AheadBehind> comparisons = Map.of();
+        if (compareTo != null && !compareTo.isEmpty()) {
+            ObjectId base = repositoryService.resolveRevision(repoName, repository, compareTo);
+            if (base == null) {
+                throw new RepositoryException("Branch not found: " + compareTo, ErrorCode.BRANCH_NOT_FOUND);
+            }
+            comparisons = repositoryService.getAheadBehindCache().compute(repository, tips, base);
+        }
 
+        List<BranchInfo> branches = new ArrayList<>();
+        for (BranchCandidate candidate : page) {
+            Ref ref = candidate.ref;
+            BranchInfo branchInfo = createBranchInfo(ref, summaries.get(ref.getObjectId()), currentBranch);
+            AheadBehind aheadBehind = comparisons.get(ref.getObjectId());
+            if (aheadBehind != null) {
+                branchInfo.setCompareTo(compareTo);
+                branchInfo.setAhead(aheadBehind.getAhead());
+                branchInfo.setBehind(aheadBehind.getBehind());
+                if (aheadBehind.getMergeBase() != null) {
+                    branchInfo.setMergeBase(aheadBehind.getMergeBase().getName());
+                }
+            }
+            branches.add(branchInfo);
+        }
         return branches;
     }
 
+    /**
+     * Treats a filter with glob characters as a glob, where {@code *} and {@code ?} stay
+     * within one path segment and {@code **} crosses segments; anything else is a prefix.
+     */
+    private static Pattern compileFilter(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        if (filter.indexOf('*') < 0 && filter.indexOf('?') < 0) {
+            return Pattern.compile(Pattern.quote(filter) + ".*");
+        }
+
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < filter.length(); i++) {
+            char c = filter.charAt(i);
+            if (c == '*' && i + 1 < filter.length() && filter.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String encodeCursor(BranchCandidate last, BranchSort sort) {
+        String value = sort == BranchSort.COMMITTERDATE
+                ? "d:" + last.commitTime + ":" + last.name
+                : "n:" + last.name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BranchCandidate decodeCursor(String cursor, BranchSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (sort == BranchSort.NAME && value.startsWith("n:")) {
+                return new BranchCandidate(null, value.substring(2));
+            }
+            if (sort == BranchSort.COMMITTERDATE && value.startsWith("d:")) {
+                int separator = value.indexOf(':', 2);
+                BranchCandidate after = new BranchCandidate(null, value.substring(separator + 1));
+                after.commitTime = Long.parseLong(value.substring(2, separator));
+                return after;
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // Reported below
+        }
+        throw new RepositoryException("Invalid cursor: " + cursor, ErrorCode.INVALID_OPERATION);
+    }
+
     public BranchInfo createBranch(String repoName, CreateBranchRequest request) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
-            // Check if branch already exists
-            List<Ref> existingBranches = git.branchList().call();
-            for (Ref ref : existingBranches) {
-                if (ref.getName().equals(REFS_HEADS_PREFIX + request.getName())) {
-                    throw new RepositoryException("Branch already exists: " + request.getName(),
-                            ErrorCode.BRANCH_ALREADY_EXISTS);
-                }
+            if (repositoryService.getRefSnapshot(repoName, repository).getBranch(request.getName()) != null) {
+                throw new RepositoryException("Branch already exists: " + request.getName(),
+                        ErrorCode.BRANCH_ALREADY_EXISTS);
             }
 
             var branchCommand = git.branchCreate()
@@ -90,8 +248,13 @@ public class BranchService {
             Ref ref = branchCommand.call();
 
             if (request.isCheckout()) {
-                git.checkout().setName(request.getName()).call();
+                if (repository.isBare()) {
+                    linkHead(repository, request.getName());
+                } else {
+                    git.checkout().setName(request.getName()).call();
+                }
             }
+            repositoryService.refreshRepositoryInfo(repoName, 1, 0);
 
             logger.info("Created branch: {} in repository: {}", request.getName(), repoName);
             return createBranchInfo(repository, ref, repository.getBranch());
@@ -102,7 +265,8 @@ public class BranchService {
     }
 
     public void deleteBranch(String repoName, String branchName, boolean force) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
             String currentBranch = repository.getBranch();
@@ -111,10 +275,15 @@ public class BranchService {
                         ErrorCode.INVALID_OPERATION);
             }
 
-            git.branchDelete()
+            List<String> deleted = git.branchDelete()
                     .setBranchNames(branchName)
                     .setForce(force)
                     .call();
+            // A missing branch is skipped rather than reported
+            if (deleted.isEmpty()) {
+                throw new RepositoryException("Branch not found: " + branchName, ErrorCode.BRANCH_NOT_FOUND);
+            }
+            repositoryService.refreshRepositoryInfo(repoName, -deleted.size(), 0);
 
             logger.info("Deleted branch: {} from repository: {}", branchName, repoName);
 
@@ -129,12 +298,24 @@ public class BranchService {
     }
 
     public BranchInfo checkoutBranch(String repoName, String branchName) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
-            Ref ref = git.checkout()
-                    .setName(branchName)
-                    .call();
+            Ref ref;
+            if (repository.isBare()) {
+                // Without a work tree, checking out only means pointing HEAD at the branch
+                ref = repository.exactRef(Constants.R_HEADS + branchName);
+                if (ref == null) {
+                    throw new RepositoryException("Branch not found: " + branchName, ErrorCode.BRANCH_NOT_FOUND);
+                }
+                linkHead(repository, branchName);
+            } else {
+                ref = git.checkout()
+                        .setName(branchName)
+                        .call();
+            }
+            repositoryService.refreshRepositoryInfo(repoName);
 
             logger.info("Checked out branch: {} in repository: {}", branchName, repoName);
             return createBranchInfo(repository, ref, branchName);
@@ -148,15 +329,24 @@ public class BranchService {
     }
 
     public MergeResult mergeBranch(String repoName, MergeBranchRequest request) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
-            ObjectId objectId = repository.resolve(request.getSourceBranch());
+            ObjectId objectId = repositoryService.resolveRevision(repoName, repository, request.getSourceBranch());
             if (objectId == null) {
                 throw new RepositoryException("Branch not found: " + request.getSourceBranch(),
                         ErrorCode.BRANCH_NOT_FOUND);
             }
 
+            String currentBranch = repository.getBranch();
+            String targetBranch = request.getTargetBranch() != null && !request.getTargetBranch().isEmpty()
+                    ? request.getTargetBranch()
+                    : currentBranch;
+            if (repository.isBare() || !targetBranch.equals(currentBranch)) {
+                return mergeInCore(repoName, repository, request, targetBranch, objectId);
+            }
+
             MergeCommand mergeCommand = git.merge()
                     .include(objectId)
                     .setSquash(request.isSquash());
@@ -166,6 +356,7 @@ public class BranchService {
             }
 
             org.eclipse.jgit.api.MergeResult result = mergeCommand.call();
+            repositoryService.refreshRepositoryInfo(repoName);
 
             MergeResult.MergeStatus status = mapMergeStatus(result.getMergeStatus());
             boolean successful = result.getMergeStatus().isSuccessful();
@@ -174,46 +365,183 @@ public class BranchService {
             logger.info("Merged branch: {} in repository: {} with status: {}",
                     request.getSourceBranch(), repoName, status);
 
-            return new MergeResult(successful, commitId, result.getMergeStatus().toString(), status);
+            MergeResult mergeResult = new MergeResult(successful, commitId, result.getMergeStatus().toString(), status);
+            if (result.getConflicts() != null) {
+                mergeResult.setConflicts(new ArrayList<>(new TreeSet<>(result.getConflicts().keySet())));
+            }
+            return mergeResult;
 
         } catch (GitAPIException | IOException e) {
             throw new RepositoryException("Failed to merge branch: " + e.getMessage(), e);
         }
     }
 
-    private BranchInfo createBranchInfo(Repository repository, Ref ref, String currentBranch) 
-            throws IOException {
-        String branchName = ref.getName();
-        boolean isRemote = branchName.startsWith(REFS_REMOTES_PREFIX);
-        
-        if (branchName.startsWith(REFS_HEADS_PREFIX)) {
-            branchName = branchName.substring(REFS_HEADS_PREFIX.length());
-        } else if (isRemote) {
-            branchName = branchName.substring(REFS_REMOTES_PREFIX.length());
+    /**
+     * Merges into a branch that has no work tree to update: every branch of a bare
+     * repository, or a branch other than the checked-out one. The merge commit is built in
+     * core and the branch is advanced with a compare-and-swap ref update, so a concurrent
+     * change to the branch rejects the merge instead of being overwritten. Conflicting
+     * merges write nothing.
+     */
+    private MergeResult mergeInCore(String repoName, Repository repository, MergeBranchRequest request,
+                                    String targetBranch, ObjectId theirs) throws IOException {
+        String targetRef = Constants.R_HEADS + targetBranch;
+        Ref target = repository.exactRef(targetRef);
+        if (target == null || target.getObjectId() == null) {
+            throw new RepositoryException("Branch not found: " + targetBranch, ErrorCode.BRANCH_NOT_FOUND);
+        }
+        ObjectId ours = target.getObjectId();
+
+        MergeCheck check = repositoryService.getMergeCheckCache().check(repository, ours, theirs);
+        if (check.getStatus() == MergeResult.MergeStatus.ALREADY_UP_TO_DATE) {
+            return new MergeResult(true, ours.getName(),
+                    org.eclipse.jgit.api.MergeResult.MergeStatus.ALREADY_UP_TO_DATE.toString(),
+                    MergeResult.MergeStatus.ALREADY_UP_TO_DATE);
+        }
+        if (!check.isMergeable()) {
+            MergeResult result = new MergeResult(false, null,
+                    org.eclipse.jgit.api.MergeResult.MergeStatus.CONFLICTING.toString(), check.getStatus());
+            result.setConflicts(new ArrayList<>(check.getConflicts()));
+            return result;
+        }
+
+        boolean fastForward = check.getStatus() == MergeResult.MergeStatus.FAST_FORWARD && !request.isSquash();
+        MergeResult.MergeStatus status = fastForward
+                ? MergeResult.MergeStatus.FAST_FORWARD
+                : MergeResult.MergeStatus.MERGED;
+        String statusMessage = fastForward
+                ? org.eclipse.jgit.api.MergeResult.MergeStatus.FAST_FORWARD.toString()
+                : org.eclipse.jgit.api.MergeResult.MergeStatus.MERGED.toString();
+        ObjectId newHead = fastForward ? theirs : commitMerge(repository, request, targetBranch, ours, theirs);
+
+        RefUpdate update = repository.updateRef(targetRef);
+        update.setExpectedOldObjectId(ours);
+        update.setNewObjectId(newHead);
+        update.setRefLogMessage("merge " + request.getSourceBranch() + ": " + statusMessage, false);
+        RefUpdate.Result result = update.update();
+        if (result != RefUpdate.Result.FAST_FORWARD && result != RefUpdate.Result.FORCED) {
+            throw new RepositoryException("Branch " + targetBranch + " could not be updated (" + result
+                    + "), it may have changed during the merge", ErrorCode.REF_UPDATE_REJECTED);
+        }
+        repositoryService.refreshRepositoryInfo(repoName);
+
+        logger.info("Merged branch: {} into {} in repository: {} with status: {}",
+                request.getSourceBranch(), targetBranch, repoName, status);
+        return new MergeResult(true, newHead.getName(), statusMessage, status);
+    }
+
+    private ObjectId commitMerge(Repository repository, MergeBranchRequest request, String targetBranch,
+                                 ObjectId ours, ObjectId theirs) throws IOException {
+        try (ObjectInserter inserter = repository.newObjectInserter()) {
+            ResolveMerger merger = (ResolveMerger) MergeStrategy.RECURSIVE.newMerger(inserter, repository.getConfig());
+            if (!merger.merge(ours, theirs)) {
+                throw new RepositoryException("Merge conflict in: " + merger.getUnmergedPaths(),
+                        ErrorCode.MERGE_CONFLICT);
+            }
+
+            String message = request.getMessage() != null && !request.getMessage().isEmpty()
+                    ? request.getMessage()
+                    : "Merge branch '" + request.getSourceBranch() + "' into " + targetBranch;
+            PersonIdent ident = new PersonIdent(repository);
+
+            CommitBuilder commit = new CommitBuilder();
+            commit.setTreeId(merger.getResultTreeId());
+            // A squash merge records the combined tree on top of the target only
+            if (request.isSquash()) {
+                commit.setParentId(ours);
+            } else {
+                commit.setParentIds(ours, theirs);
+            }
+            commit.setAuthor(ident);
+            commit.setCommitter(ident);
+            commit.setMessage(message);
+
+            ObjectId commitId = inserter.insert(commit);
+            inserter.flush();
+            return commitId;
+        }
+    }
+
+    private void linkHead(Repository repository, String branchName) throws IOException {
+        RefUpdate.Result result = repository.updateRef(Constants.HEAD).link(Constants.R_HEADS + branchName);
+        if (result != RefUpdate.Result.NEW && result != RefUpdate.Result.FORCED
+                && result != RefUpdate.Result.NO_CHANGE) {
+            throw new RepositoryException("Failed to point HEAD at branch " + branchName + ": " + result,
+                    ErrorCode.REF_UPDATE_REJECTED);
+        }
+    }
+
+    /**
+     * Reports whether merging the source branch into the target branch (HEAD by default)
+     * would succeed and which paths would conflict. The merge runs in memory against the
+     * object database only; the work tree, index and refs are left untouched.
+     */
+    public MergeResult checkMerge(String repoName, MergeBranchRequest request) {
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
+
+            String target = request.getTargetBranch() != null && !request.getTargetBranch().isEmpty()
+                    ? request.getTargetBranch()
+                    : Constants.HEAD;
+            ObjectId ours = repositoryService.resolveRevision(repoName, repository, target);
+            if (ours == null) {
+                throw new RepositoryException("Branch not found: " + target, ErrorCode.BRANCH_NOT_FOUND);
+            }
+            ObjectId theirs = repositoryService.resolveRevision(repoName, repository, request.getSourceBranch());
+            if (theirs == null) {
+                throw new RepositoryException("Branch not found: " + request.getSourceBranch(),
+                        ErrorCode.BRANCH_NOT_FOUND);
+            }
+
+            MergeCheck check = repositoryService.getMergeCheckCache().check(repository, ours, theirs);
+            MergeResult result = new MergeResult(check.isMergeable(), null, check.getStatus().toString(),
+                    check.getStatus());
+            result.setConflicts(new ArrayList<>(check.getConflicts()));
+            return result;
+
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to check merge: " + e.getMessage(), e);
         }
+    }
 
+    private BranchInfo createBranchInfo(Repository repository, Ref ref, String currentBranch)
+            throws IOException {
         ObjectId objectId = ref.getObjectId();
-        if (objectId == null) {
-            return new BranchInfo(branchName, null, null, null, null, isRemote, 
-                    branchName.equals(currentBranch));
+        CommitSummary summary = objectId == null ? null : repositoryService.getCommitSummaryCache()
+                .resolve(repository, List.of(objectId)).get(objectId);
+        return createBranchInfo(ref, summary, currentBranch);
+    }
+
+    private BranchInfo createBranchInfo(Ref ref, CommitSummary summary, String currentBranch) {
+        String branchName = branchName(ref);
+        boolean isRemote = ref.getName().startsWith(REFS_REMOTES_PREFIX);
+
+        if (summary == null) {
+            ObjectId objectId = ref.getObjectId();
+            return new BranchInfo(branchName, objectId != null ? objectId.getName() : null, null, null, null,
+                    isRemote, branchName.equals(currentBranch));
         }
 
-        try (RevWalk revWalk = new RevWalk(repository)) {
-            RevCommit commit = revWalk.parseCommit(objectId);
-            LocalDateTime commitDate = LocalDateTime.ofInstant(
-                    Instant.ofEpochSecond(commit.getCommitTime()),
-                    ZoneId.systemDefault());
+        return new BranchInfo(
+                branchName,
+                summary.getCommitId(),
+                summary.getShortMessage(),
+                summary.getAuthorName(),
+                summary.getCommitDate(),
+                isRemote,
+                branchName.equals(currentBranch)
+        );
+    }
 
-            return new BranchInfo(
-                    branchName,
-                    objectId.getName(),
-                    commit.getShortMessage(),
-                    commit.getAuthorIdent().getName(),
-                    commitDate,
-                    isRemote,
-                    branchName.equals(currentBranch)
-            );
+    private static String branchName(Ref ref) {
+        String branchName = ref.getName();
+        if (branchName.startsWith(REFS_HEADS_PREFIX)) {
+            return branchName.substring(REFS_HEADS_PREFIX.length());
         }
+        if (branchName.startsWith(REFS_REMOTES_PREFIX)) {
+            return branchName.substring(REFS_REMOTES_PREFIX.length());
+        }
+        return branchName;
     }
 
     private MergeResult.MergeStatus mapMergeStatus(org.eclipse.jgit.api.MergeResult.MergeStatus status) {
@@ -227,4 +555,41 @@ public class BranchService {
             default -> MergeResult.MergeStatus.FAILED;
         };
     }
+
+    private enum BranchSort {
+        NAME(Comparator.comparing((BranchCandidate c) -> c.name)),
+        // Most recent first, ties by name so that cursors are stable
+        COMMITTERDATE(Comparator.comparingLong((BranchCandidate c) -> c.commitTime).reversed()
+                .thenComparing(c -> c.name));
+
+        private final Comparator<BranchCandidate> order;
+
+        BranchSort(Comparator<BranchCandidate> order) {
+            this.order = order;
+        }
+
+        static BranchSort parse(String value) {
+            if (value == null || value.isEmpty()) {
+                return NAME;
+            }
+            for (BranchSort sort : values()) {
+                if (sort.name().equalsIgnoreCase(value)) {
+                    return sort;
+                }
+            }
+            throw new RepositoryException("Unsupported sort: " + value, ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    private static final class BranchCandidate {
+
+        private final Ref ref;
+        private final String name;
+        private long commitTime;
+
+        private BranchCandidate(Ref ref, String name) {
+            this.ref = ref;
+            this.name = name;
+        }
+    }
 }
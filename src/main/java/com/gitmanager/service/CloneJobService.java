@@ -0,0 +1,300 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.dto.CloneRepositoryRequest;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.CloneJob;
+import com.gitmanager.model.CloneJob.JobStatus;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.lib.ProgressMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Service
+public class CloneJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloneJobService.class);
+    private static final long PROGRESS_INTERVAL_MILLIS = 500;
+    private static final long SSE_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final RepositoryService repositoryService;
+    private final MaintenanceService maintenanceService;
+    private final GitRepositoryConfig.Clone cloneConfig;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CloneJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> cancellations = new ConcurrentHashMap<>();
+
+    public CloneJobService(RepositoryService repositoryService, MaintenanceService maintenanceService,
+                           GitRepositoryConfig config) {
+        this.repositoryService = repositoryService;
+        this.maintenanceService = maintenanceService;
+        this.cloneConfig = config.getClone();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        int concurrency = Math.max(1, cloneConfig.getMaxConcurrent());
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, cloneConfig.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "clone-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CloneJob submit(CloneRepositoryRequest request) {
+        purgeExpiredJobs();
+        repositoryService.checkCloneRequest(request);
+        repositoryService.checkRepositoryAbsent(request.getName());
+
+        // Pin the placement now so progress sampling looks at the right storage root
+        Path repoPath = repositoryService.placeRepository(request.getName(), request.getStorageRoot());
+        request.setStorageRoot(repoPath.getParent().toString());
+
+        CloneJob job = new CloneJob(UUID.randomUUID().toString(), request.getName(), request.getUrl());
+        synchronized (jobs) {
+            boolean inFlight = jobs.values().stream()
+                    .anyMatch(existing -> !existing.isFinished()
+                            && existing.getRepositoryName().equals(request.getName()));
+            if (inFlight) {
+                throw new RepositoryException("Repository is already being cloned: " + request.getName(),
+                        ErrorCode.REPOSITORY_ALREADY_EXISTS);
+            }
+            jobs.put(job.getId(), job);
+        }
+
+        try {
+            executor.execute(() -> runJob(job, request, repoPath));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new RepositoryException("Clone queue is full, try again later", ErrorCode.CLONE_QUEUE_FULL);
+        }
+
+        logger.info("Queued clone job {} for repository: {}", job.getId(), request.getName());
+        return job;
+    }
+
+    public CloneJob getJob(String jobId) {
+        CloneJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RepositoryException("Clone job not found: " + jobId, ErrorCode.CLONE_JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    public List<CloneJob> listJobs() {
+        purgeExpiredJobs();
+        List<CloneJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(CloneJob::getCreatedAt));
+        return result;
+    }
+
+    public CloneJob cancel(String jobId) {
+        CloneJob job = getJob(jobId);
+        synchronized (job) {
+            if (job.getStatus() == JobStatus.QUEUED) {
+                // The worker skips jobs that are no longer queued when it picks them up
+                finish(job, JobStatus.CANCELLED, "Cancelled before start");
+            } else if (job.getStatus() == JobStatus.RUNNING) {
+                // Picked up by the progress monitor, which aborts the clone
+                cancellations.put(jobId, Boolean.TRUE);
+            }
+        }
+        return job;
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        CloneJob job = getJob(jobId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+
+        if (job.isFinished()) {
+            send(emitter, job);
+            emitter.complete();
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        send(emitter, job);
+
+        // The job may have finished between the check above and registration
+        if (job.isFinished()) {
+            subscribers.remove(jobId, emitters);
+            send(emitter, job);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void runJob(CloneJob job, CloneRepositoryRequest request, Path repoPath) {
+        synchronized (job) {
+            if (job.getStatus() != JobStatus.QUEUED) {
+                return;
+            }
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+        publish(job);
+
+        try {
+            repositoryService.cloneRepository(request, new JobProgressMonitor(job, repoPath));
+
+            // Build the commit-graph and bitmaps up front so the first history queries use them
+            job.setPhase("Writing commit-graph and bitmaps");
+            publish(job);
+            maintenanceService.maintain(job.getRepositoryName(), true);
+
+            finish(job, JobStatus.COMPLETED, "Repository cloned successfully");
+            logger.info("Clone job {} completed for repository: {}", job.getId(), job.getRepositoryName());
+        } catch (RuntimeException e) {
+            if (cancellations.containsKey(job.getId())) {
+                finish(job, JobStatus.CANCELLED, "Cancelled");
+            } else {
+                finish(job, JobStatus.FAILED, e.getMessage());
+                logger.warn("Clone job {} failed: {}", job.getId(), e.getMessage());
+            }
+        } finally {
+            cancellations.remove(job.getId());
+        }
+    }
+
+    private void finish(CloneJob job, JobStatus status, String message) {
+        job.setStatus(status);
+        job.setMessage(message);
+        job.setFinishedAt(LocalDateTime.now());
+        publish(job);
+
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void publish(CloneJob job) {
+        List<SseEmitter> emitters = subscribers.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, job)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, CloneJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(job.isFinished() ? "complete" : "progress")
+                    .data(job));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(cloneConfig.getJobRetention());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Records JGit progress on the job and pushes throttled updates to subscribers.
+     * JGit reports object counts only, so received bytes are sampled from the pack directory.
+     */
+    private class JobProgressMonitor implements ProgressMonitor {
+
+        private final CloneJob job;
+        private final Path packDir;
+        private long lastPublished;
+
+        private JobProgressMonitor(CloneJob job, Path repoPath) {
+            this.job = job;
+            this.packDir = repoPath.resolve(".git").resolve("objects").resolve("pack");
+        }
+
+        @Override
+        public void start(int totalTasks) {
+        }
+
+        @Override
+        public void beginTask(String title, int totalWork) {
+            job.setPhase(title);
+            job.setTotalWork(totalWork);
+            job.setCompletedWork(0);
+            publishProgress(true);
+        }
+
+        @Override
+        public void update(int completed) {
+            job.setCompletedWork(job.getCompletedWork() + completed);
+            publishProgress(false);
+        }
+
+        @Override
+        public void endTask() {
+            publishProgress(true);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancellations.containsKey(job.getId());
+        }
+
+        @Override
+        public void showDuration(boolean enabled) {
+        }
+
+        private void publishProgress(boolean force) {
+            long now = System.currentTimeMillis();
+            if (!force && now - lastPublished < PROGRESS_INTERVAL_MILLIS) {
+                return;
+            }
+            lastPublished = now;
+            job.setBytesReceived(measurePackBytes());
+            publish(job);
+        }
+
+        private long measurePackBytes() {
+            if (!Files.isDirectory(packDir)) {
+                return job.getBytesReceived();
+            }
+            try (Stream<Path> files = Files.list(packDir)) {
+                return files.mapToLong(file -> file.toFile().length()).sum();
+            } catch (IOException e) {
+                return job.getBytesReceived();
+            }
+        }
+    }
+}
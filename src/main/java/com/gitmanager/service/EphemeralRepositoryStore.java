@@ -0,0 +1,278 @@
+package com.gitmanager.service;
+
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.RepositoryInfo;
+import org.eclipse.jgit.internal.storage.dfs.DfsObjDatabase;
+import org.eclipse.jgit.internal.storage.dfs.DfsPackDescription;
+import org.eclipse.jgit.internal.storage.dfs.DfsPackFile;
+import org.eclipse.jgit.internal.storage.dfs.DfsReftable;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.internal.storage.pack.PackExt;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.FS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived repositories held entirely in memory by JGit's {@link InMemoryRepository}.
+ * <p>
+ * Like {@link com.gitmanager.cache.RepositoryHandleCache}, the store owns one reference to
+ * each repository and {@link #open} hands out additional ones, so a repository that expires
+ * while in use is only released once its last borrower closes it. A sweeper removes
+ * repositories past their TTL and, when the memory cap is exceeded, those closest to expiry.
+ */
+class EphemeralRepositoryStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EphemeralRepositoryStore.class);
+    private static final long SWEEP_INTERVAL_MILLIS = 10_000;
+
+    private final int maxRepositories;
+    private final long maxMemoryBytes;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    EphemeralRepositoryStore(int maxRepositories, long maxMemoryBytes, Duration defaultTtl, Duration maxTtl) {
+        this.maxRepositories = Math.max(1, maxRepositories);
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ephemeral-repository-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    RepositoryInfo create(String name, String description, Duration ttl) throws IOException {
+        Duration effectiveTtl = ttl != null ? ttl : defaultTtl;
+        if (effectiveTtl.isNegative() || effectiveTtl.isZero() || effectiveTtl.compareTo(maxTtl) > 0) {
+            throw new RepositoryException("Ephemeral repository TTL must be positive and at most " + maxTtl,
+                    ErrorCode.INVALID_OPERATION);
+        }
+
+        Entry entry;
+        // Checked and inserted together, so concurrent creates can't overshoot the limits
+        synchronized (this) {
+            if (entries.containsKey(name)) {
+                throw new RepositoryException("Repository already exists: " + name,
+                        ErrorCode.REPOSITORY_ALREADY_EXISTS);
+            }
+            if (entries.size() >= maxRepositories) {
+                throw new RepositoryException("Ephemeral repository limit reached: " + maxRepositories,
+                        ErrorCode.EPHEMERAL_CAPACITY_EXCEEDED);
+            }
+            if (memoryUsage() >= maxMemoryBytes) {
+                throw new RepositoryException("Ephemeral repository memory limit reached",
+                        ErrorCode.EPHEMERAL_CAPACITY_EXCEEDED);
+            }
+
+            // A file system is needed to fetch a seed from a local path
+            InMemoryRepository repository = new InMemoryRepository.Builder()
+                    .setRepositoryDescription(new DfsRepositoryDescription(name))
+                    .setFS(FS.DETECTED)
+                    .build();
+            repository.create(true);
+            entry = new Entry(repository, description, effectiveTtl);
+            entries.put(name, entry);
+        }
+        logger.info("Created ephemeral repository: {} (expires {})", name, entry.expiresAt);
+        return info(name);
+    }
+
+    boolean exceedsMemoryLimit() {
+        return memoryUsage() > maxMemoryBytes;
+    }
+
+    boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Returns an additional reference to an ephemeral repository, or {@code null} if there is
+     * no such repository. The caller must close it.
+     */
+    Repository open(String name) {
+        while (true) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.acquire()) {
+                return entry.repository;
+            }
+            // Removed concurrently; the name may have been reused since
+        }
+    }
+
+    void touch(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            entry.updatedAt = LocalDateTime.now();
+        }
+    }
+
+    boolean remove(String name) {
+        while (true) {
+            Entry entry = entries.get(name);
+            if (entry == null) {
+                return false;
+            }
+            if (remove(name, entry)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean remove(String name, Entry entry) {
+        if (entries.remove(name, entry) && entry.markRemoved()) {
+            // Drops the store's own reference; borrowers still holding it keep it open
+            entry.repository.close();
+            return true;
+        }
+        return false;
+    }
+
+    RepositoryInfo info(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+
+        Repository repository = entry.repository;
+        RepositoryInfo info = new RepositoryInfo(name, null, entry.description, null,
+                entry.createdAt, entry.updatedAt, true);
+        info.setEphemeral(true);
+        info.setExpiresAt(entry.expiresAt);
+        info.setSizeBytes(sizeOf(entry.repository));
+        try {
+            RefDatabase refDatabase = repository.getRefDatabase();
+            info.setCurrentBranch(repository.getBranch());
+            info.setDefaultBranch(repository.getBranch());
+            info.setBranchCount(refDatabase.getRefsByPrefix(Constants.R_HEADS).size());
+            info.setTagCount(refDatabase.getRefsByPrefix(Constants.R_TAGS).size());
+        } catch (IOException e) {
+            logger.warn("Failed to read refs of ephemeral repository {}: {}", name, e.getMessage());
+        }
+        return info;
+    }
+
+    List<RepositoryInfo> list() {
+        List<RepositoryInfo> result = new ArrayList<>(entries.size());
+        for (String name : entries.keySet()) {
+            RepositoryInfo info = info(name);
+            if (info != null) {
+                result.add(info);
+            }
+        }
+        return result;
+    }
+
+    long memoryUsage() {
+        return entries.values().stream().mapToLong(entry -> sizeOf(entry.repository)).sum();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        entries.forEach(this::remove);
+    }
+
+    private void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        entries.forEach((name, entry) -> {
+            if (entry.expiresAt.isBefore(now) && remove(name, entry)) {
+                logger.info("Expired ephemeral repository: {}", name);
+            }
+        });
+
+        while (exceedsMemoryLimit()) {
+            Map.Entry<String, Entry> victim = entries.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .orElse(null);
+            if (victim == null) {
+                break;
+            }
+            if (remove(victim.getKey(), victim.getValue())) {
+                logger.warn("Evicted ephemeral repository {} to stay within the memory limit", victim.getKey());
+            }
+        }
+    }
+
+    private static long sizeOf(InMemoryRepository repository) {
+        DfsObjDatabase objectDatabase = repository.getObjectDatabase();
+        long size = 0;
+        try {
+            for (DfsPackFile pack : objectDatabase.getPacks()) {
+                size += sizeOf(pack.getPackDescription());
+            }
+            for (DfsReftable reftable : objectDatabase.getReftables()) {
+                size += sizeOf(reftable.getPackDescription());
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to measure ephemeral repository {}: {}",
+                    repository.getDescription().getRepositoryName(), e.getMessage());
+        }
+        return size;
+    }
+
+    private static long sizeOf(DfsPackDescription description) {
+        long size = 0;
+        for (PackExt ext : PackExt.values()) {
+            size += description.getFileSize(ext);
+        }
+        return size;
+    }
+
+    private static final class Entry {
+        private final InMemoryRepository repository;
+        private final String description;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime expiresAt;
+        private volatile LocalDateTime updatedAt;
+        private boolean removed;
+
+        private Entry(InMemoryRepository repository, String description, Duration ttl) {
+            this.repository = repository;
+            this.description = description;
+            this.createdAt = LocalDateTime.now();
+            this.updatedAt = createdAt;
+            this.expiresAt = createdAt.plus(ttl);
+        }
+
+        private synchronized boolean acquire() {
+            if (removed) {
+                return false;
+            }
+            repository.incrementOpen();
+            return true;
+        }
+
+        private synchronized boolean markRemoved() {
+            if (removed) {
+                return false;
+            }
+            removed = true;
+            return true;
+        }
+    }
+}
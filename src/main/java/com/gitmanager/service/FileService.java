@@ -1,24 +1,43 @@
 package com.gitmanager.service;
 
+import com.gitmanager.cache.BlobCache;
+import com.gitmanager.cache.PackOrder;
+import com.gitmanager.cache.TreeListing;
+import com.gitmanager.cache.TreeListingCache;
+import com.gitmanager.dto.FileTreeQuery;
 import com.gitmanager.exception.RepositoryException;
 import com.gitmanager.exception.RepositoryException.ErrorCode;
 import com.gitmanager.model.FileContent;
 import com.gitmanager.model.FileTreeNode;
+import com.gitmanager.model.PagedResult;
+import com.gitmanager.model.RawFile;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.PathFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -26,6 +45,7 @@ public class FileService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileService.class);
     private static final int MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
 
     private final RepositoryService repositoryService;
 
@@ -34,64 +54,210 @@ public class FileService {
     }
 
     public FileTreeNode getFileTree(String repoName, String ref, String path) {
-        try (Repository repository = repositoryService.openRepository(repoName)) {
-            ObjectId commitId = resolveRef(repository, ref);
-            
-            try (RevWalk revWalk = new RevWalk(repository)) {
-                RevCommit commit = revWalk.parseCommit(commitId);
-                RevTree tree = commit.getTree();
-
-                FileTreeNode root = new FileTreeNode(
-                        path.isEmpty() ? repoName : getFileName(path),
-                        path,
-                        FileTreeNode.FileType.DIRECTORY,
-                        0
-                );
+        FileTreeQuery query = new FileTreeQuery();
+        query.setRef(ref);
+        query.setPath(path);
+        return toTree(repoName, query.getPath(), listTree(repoName, query).getItems());
+    }
 
-                try (TreeWalk treeWalk = new TreeWalk(repository)) {
-                    treeWalk.addTree(tree);
-                    treeWalk.setRecursive(false);
+    /**
+     * Wraps the entries of a tree listing in a directory node for {@code path}.
+     */
+    public FileTreeNode toTree(String repoName, String path, List<FileTreeNode> entries) {
+        String normalized = normalizePath(path);
+        FileTreeNode root = new FileTreeNode(
+                normalized.isEmpty() ? repoName : getFileName(normalized),
+                normalized,
+                FileTreeNode.FileType.DIRECTORY,
+                0
+        );
+        root.setChildren(entries);
+        return root;
+    }
 
-                    if (!path.isEmpty()) {
-                        treeWalk.setFilter(PathFilter.create(path));
-                    }
+    /**
+     * Lists one page of the tree under the query's path, in Git's tree order (pre-order,
+     * with directories sorted as if their names ended in '/'). Directory listings come
+     * from the shared tree listing cache, only the subtree for the path is visited,
+     * directories are entered only above the requested depth, and the walk stops as soon
+     * as the page is full, so memory depends on the page size rather than on the size of
+     * the tree.
+     * <p>
+     * Entries whose parent directory is on the same page are nested under it; the others
+     * are returned at the top level and placed by their path.
+     */
+    public PagedResult<FileTreeNode> listTree(String repoName, FileTreeQuery query) {
+        String path = normalizePath(query.getPath());
+        int depth = query.getDepth() != null ? Math.max(1, query.getDepth()) : Integer.MAX_VALUE;
+        int limit = query.getLimit() != null ? Math.max(1, query.getLimit()) : Integer.MAX_VALUE;
+        String after = decodeCursor(query.getCursor());
+        TreeListingCache trees = repositoryService.getTreeListingCache();
 
-                    Map<String, FileTreeNode> nodeMap = new HashMap<>();
-                    nodeMap.put("", root);
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
+             RevWalk revWalk = new RevWalk(repository)) {
+            ObjectId commitId = resolveRef(repoName, repository, query.getRef());
+            ObjectReader reader = revWalk.getObjectReader();
+            revWalk.setRetainBody(false);
+            ObjectId treeId = revWalk.parseCommit(commitId).getTree();
 
-                    while (treeWalk.next()) {
-                        String filePath = treeWalk.getPathString();
-                        String fileName = treeWalk.getNameString();
-                        boolean isSubtree = treeWalk.isSubtree();
+            if (!path.isEmpty()) {
+                TreeListing.Entry entry = findEntry(reader, treeId, path);
+                if (!entry.isTree()) {
+                    List<FileTreeNode> file = new ArrayList<>();
+                    if (after == null) {
+                        FileTreeNode node = createNode(entry, path);
+                        fillSizes(repository, reader, Map.of(entry.getObjectId(), List.of(node)));
+                        file.add(node);
+                    }
+                    return new PagedResult<>(file, null);
+                }
+                treeId = entry.getObjectId();
+            }
 
-                        FileTreeNode node = new FileTreeNode(
-                                fileName,
-                                filePath,
-                                isSubtree ? FileTreeNode.FileType.DIRECTORY : FileTreeNode.FileType.FILE,
-                                0
-                        );
+            List<FileTreeNode> items = new ArrayList<>();
+            Map<ObjectId, List<FileTreeNode>> blobs = new HashMap<>();
+            Map<String, FileTreeNode> directories = new HashMap<>();
+            Deque<TreeFrame> stack = new ArrayDeque<>();
+            stack.push(new TreeFrame("", trees.get(reader, treeId), 1));
+            boolean resumed = after == null;
+            String lastKey = null;
+            int count = 0;
 
-                        String parentPath = getParentPath(filePath);
-                        FileTreeNode parent = nodeMap.getOrDefault(parentPath, root);
-                        parent.addChild(node);
+            while (!stack.isEmpty()) {
+                TreeFrame frame = stack.peek();
+                if (frame.index == frame.entries.size()) {
+                    stack.pop();
+                    continue;
+                }
+                TreeListing.Entry entry = frame.entries.get(frame.index++);
+                boolean isSubtree = entry.isTree();
+                String relativePath = frame.prefix + entry.getName();
+                String key = isSubtree ? relativePath + "/" : relativePath;
+                boolean descend = isSubtree && frame.depth < depth;
 
-                        if (isSubtree) {
-                            nodeMap.put(filePath, node);
-                            treeWalk.enterSubtree();
+                if (!resumed) {
+                    // Skip whole subtrees before the cursor; only enter those holding it
+                    if (isSubtree && after.startsWith(key)) {
+                        if (descend) {
+                            stack.push(new TreeFrame(key, trees.get(reader, entry.getObjectId()), frame.depth + 1));
                         }
+                        continue;
+                    }
+                    if (compareTreeOrder(key, after) <= 0) {
+                        continue;
                     }
+                    resumed = true;
                 }
 
-                return root;
+                if (count == limit) {
+                    fillSizes(repository, reader, blobs);
+                    return new PagedResult<>(items, encodeCursor(lastKey));
+                }
+
+                FileTreeNode node = createNode(entry, path.isEmpty() ? relativePath : path + "/" + relativePath);
+                if (node.getType() == FileTreeNode.FileType.FILE || node.getType() == FileTreeNode.FileType.SYMLINK) {
+                    blobs.computeIfAbsent(entry.getObjectId(), id -> new ArrayList<>(1)).add(node);
+                }
+                FileTreeNode parent = directories.get(getParentPath(relativePath));
+                if (parent != null) {
+                    parent.addChild(node);
+                } else {
+                    items.add(node);
+                }
+                count++;
+                lastKey = key;
+
+                if (descend) {
+                    directories.put(relativePath, node);
+                    stack.push(new TreeFrame(key, trees.get(reader, entry.getObjectId()), frame.depth + 1));
+                }
             }
+
+            fillSizes(repository, reader, blobs);
+            return new PagedResult<>(items, null);
+
         } catch (IOException e) {
             throw new RepositoryException("Failed to get file tree: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Resolves the blob at {@code filePath} for streaming with {@link #writeRawFile}. Only
+     * the object header is read, for the size.
+     */
+    public RawFile getRawFile(String repoName, String ref, String filePath) {
+        String path = normalizePath(filePath);
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
+             RevWalk revWalk = new RevWalk(repository)) {
+            ObjectId commitId = resolveRef(repoName, repository, ref);
+            ObjectReader reader = revWalk.getObjectReader();
+            revWalk.setRetainBody(false);
+            ObjectId treeId = revWalk.parseCommit(commitId).getTree();
+
+            TreeListing.Entry entry = path.isEmpty() ? null : findEntry(reader, treeId, path);
+            FileTreeNode.FileType type = entry != null ? fileType(entry.getMode()) : null;
+            if (type != FileTreeNode.FileType.FILE && type != FileTreeNode.FileType.SYMLINK) {
+                throw new RepositoryException("Not a file: " + path, ErrorCode.FILE_NOT_FOUND);
+            }
+
+            long size = reader.getObjectSize(entry.getObjectId(), Constants.OBJ_BLOB);
+            return new RawFile(path, entry.getObjectId().getName(), size);
+
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to get file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams {@code length} bytes of a blob starting at {@code offset}. Blobs are
+     * immutable, so no repository lock is held while a possibly long download runs.
+     */
+    public void writeRawFile(String repoName, RawFile file, long offset, long length, OutputStream out)
+            throws IOException {
+        BlobCache blobCache = repositoryService.getBlobCache();
+        if (blobCache.accepts(file.getSize())) {
+            ObjectId blobId = ObjectId.fromString(file.getObjectId());
+            long written = blobCache.writeTo(blobId, offset, length, out);
+            if (written < 0) {
+                byte[] bytes;
+                try (Repository repository = repositoryService.openRepository(repoName)) {
+                    bytes = repository.open(blobId, Constants.OBJ_BLOB).getCachedBytes();
+                }
+                blobCache.put(blobId, bytes);
+                out.write(bytes, (int) offset, (int) length);
+                return;
+            }
+            // Evicted while being written; the rest comes from the repository
+            offset += written;
+            length -= written;
+            if (length == 0) {
+                return;
+            }
+        }
+
+        try (Repository repository = repositoryService.openRepository(repoName);
+             InputStream in = repository.open(ObjectId.fromString(file.getObjectId()), Constants.OBJ_BLOB)
+                     .openStream()) {
+            in.skipNBytes(offset);
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Blob " + file.getObjectId() + " ended early");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
     public FileContent getFileContent(String repoName, String ref, String filePath) {
-        try (Repository repository = repositoryService.openRepository(repoName)) {
-            ObjectId commitId = resolveRef(repository, ref);
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
+            ObjectId commitId = resolveRef(repoName, repository, ref);
 
             try (RevWalk revWalk = new RevWalk(repository)) {
                 RevCommit commit = revWalk.parseCommit(commitId);
@@ -103,14 +269,21 @@ public class FileService {
                     }
 
                     ObjectId objectId = treeWalk.getObjectId(0);
-                    ObjectLoader loader = repository.open(objectId);
-
-                    long size = loader.getSize();
-                    if (size > MAX_FILE_SIZE) {
-                        return new FileContent(filePath, null, null, size, false);
+                    BlobCache blobCache = repositoryService.getBlobCache();
+                    byte[] bytes = blobCache.get(objectId);
+                    if (bytes == null) {
+                        ObjectLoader loader = repository.open(objectId);
+                        long size = loader.getSize();
+                        if (size > MAX_FILE_SIZE) {
+                            return new FileContent(filePath, null, null, size, false);
+                        }
+                        bytes = loader.getBytes();
+                        blobCache.put(objectId, bytes);
+                    } else if (bytes.length > MAX_FILE_SIZE) {
+                        // Cached by a raw download; still too large to return inline
+                        return new FileContent(filePath, null, null, bytes.length, false);
                     }
-
-                    byte[] bytes = loader.getBytes();
+                    long size = bytes.length;
                     boolean isBinary = isBinaryContent(bytes);
 
                     String content = null;
@@ -128,18 +301,127 @@ public class FileService {
         }
     }
 
-    private ObjectId resolveRef(Repository repository, String ref) throws IOException {
+    private ObjectId resolveRef(String repoName, Repository repository, String ref) throws IOException {
         if (ref == null || ref.isEmpty()) {
             ref = "HEAD";
         }
 
-        ObjectId objectId = repository.resolve(ref);
+        ObjectId objectId = repositoryService.resolveRevision(repoName, repository, ref);
         if (objectId == null) {
             throw new RepositoryException("Invalid reference: " + ref, ErrorCode.INVALID_OPERATION);
         }
         return objectId;
     }
 
+    /**
+     * Follows a non-empty path through cached tree listings.
+     */
+    private TreeListing.Entry findEntry(ObjectReader reader, ObjectId treeId, String path) throws IOException {
+        TreeListingCache trees = repositoryService.getTreeListingCache();
+        ObjectId directoryId = treeId;
+        TreeListing.Entry entry = null;
+        for (String name : path.split("/")) {
+            entry = directoryId != null ? trees.get(reader, directoryId).find(name) : null;
+            if (entry == null) {
+                throw new RepositoryException("Path not found: " + path, ErrorCode.FILE_NOT_FOUND);
+            }
+            directoryId = entry.isTree() ? entry.getObjectId() : null;
+        }
+        return entry;
+    }
+
+    private static FileTreeNode createNode(TreeListing.Entry entry, String path) {
+        FileTreeNode node = new FileTreeNode(entry.getName(), path, fileType(entry.getMode()), 0);
+        node.setMode(String.format("%06o", entry.getMode()));
+        node.setObjectId(entry.getObjectId().getName());
+        return node;
+    }
+
+    private static FileTreeNode.FileType fileType(int mode) {
+        if (FileMode.TREE.equals(mode)) {
+            return FileTreeNode.FileType.DIRECTORY;
+        }
+        if (FileMode.SYMLINK.equals(mode)) {
+            return FileTreeNode.FileType.SYMLINK;
+        }
+        if (FileMode.GITLINK.equals(mode)) {
+            return FileTreeNode.FileType.SUBMODULE;
+        }
+        return FileTreeNode.FileType.FILE;
+    }
+
+    /**
+     * Sets the size of the nodes of each blob. Sizes come from object headers, looked up
+     * in pack order, so no blob is inflated and each pack is read front to back.
+     */
+    private static void fillSizes(Repository repository, ObjectReader reader,
+                                  Map<ObjectId, List<FileTreeNode>> blobs) throws IOException {
+        for (ObjectId id : PackOrder.sort(repository, blobs.keySet())) {
+            long size;
+            try {
+                size = reader.getObjectSize(id, Constants.OBJ_BLOB);
+            } catch (MissingObjectException e) {
+                continue;
+            }
+            for (FileTreeNode node : blobs.get(id)) {
+                node.setSize(size);
+            }
+        }
+    }
+
+    private static final class TreeFrame {
+
+        private final String prefix;
+        private final List<TreeListing.Entry> entries;
+        private final int depth;
+        private int index;
+
+        private TreeFrame(String prefix, TreeListing listing, int depth) {
+            this.prefix = prefix;
+            this.entries = listing.getEntries();
+            this.depth = depth;
+        }
+    }
+
+    private static String normalizePath(String path) {
+        if (path == null) {
+            return "";
+        }
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private static int compareTreeOrder(String a, String b) {
+        return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeCursor(String key) {
+        String value = "t:" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith("t:") && value.length() > 2) {
+                return value.substring(2);
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new RepositoryException("Invalid cursor: " + cursor, ErrorCode.INVALID_OPERATION);
+    }
+
     private String getFileName(String path) {
         int lastSlash = path.lastIndexOf('/');
         return lastSlash >= 0 ? path.substring(lastSlash + 1) : path;
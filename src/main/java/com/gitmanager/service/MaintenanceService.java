@@ -0,0 +1,260 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.MaintenanceConfig;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.MaintenanceStats;
+import com.gitmanager.model.MaintenanceStats.MaintenanceStatus;
+import com.gitmanager.model.RepositoryInfo;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class MaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceService.class);
+
+    private final RepositoryService repositoryService;
+    private final MaintenanceConfig config;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+    private final Map<String, MaintenanceStats> stats = new ConcurrentHashMap<>();
+
+    public MaintenanceService(RepositoryService repositoryService, MaintenanceConfig config) {
+        this.repositoryService = repositoryService;
+        this.config = config;
+
+        int concurrency = Math.max(1, config.getMaxConcurrent());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.permits = new Semaphore(concurrency);
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "maintenance-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${git.maintenance.initial-delay:PT5M}",
+            fixedDelayString = "${git.maintenance.interval:PT30M}")
+    public void runScheduledMaintenance() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!config.isWithinQuietHours(LocalTime.now())) {
+            logger.debug("Outside maintenance quiet hours, skipping scheduled run");
+            return;
+        }
+        runMaintenance();
+    }
+
+    /**
+     * Checks every repository and runs GC on those that exceed their policy thresholds,
+     * with at most {@code git.maintenance.max-concurrent} collections at a time.
+     */
+    public List<MaintenanceStats> runMaintenance() {
+        List<Future<MaintenanceStats>> futures = new ArrayList<>();
+        for (RepositoryInfo repository : repositoryService.listRepositories()) {
+            futures.add(executor.submit(() -> maintain(repository.getName(), false)));
+        }
+
+        List<MaintenanceStats> results = new ArrayList<>();
+        for (Future<MaintenanceStats> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                logger.warn("Maintenance check failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs maintenance on a single repository. Unless {@code force} is set, GC only runs
+     * when the repository's policy is enabled and one of its thresholds is exceeded.
+     */
+    public MaintenanceStats maintain(String repoName, boolean force) {
+        if (repositoryService.isEphemeral(repoName)) {
+            return recordSkipped(repoName, "Ephemeral repositories are not maintained");
+        }
+
+        MaintenanceConfig.Policy policy = config.policyFor(repoName);
+        if (!force && !Boolean.TRUE.equals(policy.getEnabled())) {
+            return recordSkipped(repoName, "Maintenance disabled by policy");
+        }
+
+        if (!running.add(repoName)) {
+            if (force) {
+                throw new RepositoryException("Maintenance already running for repository: " + repoName,
+                        ErrorCode.INVALID_OPERATION);
+            }
+            return recordSkipped(repoName, "Maintenance already running");
+        }
+        if (!repositoryService.claimObjectStore(repoName)) {
+            running.remove(repoName);
+            if (force) {
+                throw new RepositoryException("Repository is being moved: " + repoName,
+                        ErrorCode.INVALID_OPERATION);
+            }
+            return recordSkipped(repoName, "Repository is being moved");
+        }
+
+        try (Repository repository = repositoryService.openRepository(repoName);
+             Git git = new Git(repository)) {
+
+            repositoryService.configureHistoryIndexes(repository);
+
+            Properties before = git.gc().getStatistics();
+            if (!force && !exceedsThresholds(before, policy) && hasCommitGraph(repository)) {
+                return recordSkipped(repoName, "Below maintenance thresholds");
+            }
+
+            permits.acquire();
+            try {
+                return collect(repoName, git, policy, before);
+            } finally {
+                permits.release();
+            }
+        } catch (GitAPIException | IOException e) {
+            return recordFailure(repoName, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return recordFailure(repoName, "Interrupted");
+        } finally {
+            repositoryService.releaseObjectStore(repoName);
+            running.remove(repoName);
+        }
+    }
+
+    public List<MaintenanceStats> getStats() {
+        List<MaintenanceStats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparing(MaintenanceStats::getRepositoryName));
+        return result;
+    }
+
+    public MaintenanceStats getStats(String repoName) {
+        // Validates that the repository exists
+        repositoryService.getRepositoryInfo(repoName);
+        MaintenanceStats repositoryStats = stats.get(repoName);
+        return repositoryStats != null ? repositoryStats : new MaintenanceStats(repoName);
+    }
+
+    private MaintenanceStats collect(String repoName, Git git, MaintenanceConfig.Policy policy,
+                                     Properties before) throws GitAPIException, IOException {
+        long start = System.currentTimeMillis();
+        Date expire = Date.from(Instant.now().minus(config.getPruneExpire()));
+
+        // Repacks reachable objects, packs refs, prunes unreachable loose objects and
+        // writes the commit-graph and pack bitmaps
+        git.gc()
+                .setAggressive(Boolean.TRUE.equals(policy.getAggressive()))
+                .setExpire(expire)
+                .call();
+
+        Properties after = git.gc().getStatistics();
+
+        MaintenanceStats result = new MaintenanceStats(repoName);
+        result.setStatus(MaintenanceStatus.SUCCEEDED);
+        result.setMessage("Garbage collection completed");
+        result.setLastCheckedAt(LocalDateTime.now());
+        result.setLastRunAt(LocalDateTime.now());
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        result.setLooseObjectsBefore(stat(before, "numberOfLooseObjects"));
+        result.setLooseObjectsAfter(stat(after, "numberOfLooseObjects"));
+        result.setPackFilesBefore(stat(before, "numberOfPackFiles"));
+        result.setPackFilesAfter(stat(after, "numberOfPackFiles"));
+        result.setLooseRefsBefore(stat(before, "numberOfLooseRefs"));
+        result.setLooseRefsAfter(stat(after, "numberOfLooseRefs"));
+        result.setBitmaps(stat(after, "numberOfBitmaps"));
+        result.setCommitGraph(hasCommitGraph(git.getRepository()));
+        stats.put(repoName, result);
+        repositoryService.refreshRepositoryStatistics(repoName);
+
+        logger.info("Maintenance completed for repository: {} in {} ms ({} -> {} loose objects, {} -> {} packs)",
+                repoName, result.getDurationMillis(),
+                result.getLooseObjectsBefore(), result.getLooseObjectsAfter(),
+                result.getPackFilesBefore(), result.getPackFilesAfter());
+        return result;
+    }
+
+    private boolean hasCommitGraph(Repository repository) throws IOException {
+        try (ObjectReader reader = repository.newObjectReader()) {
+            return reader.getCommitGraph().isPresent() || repository.resolve(Constants.HEAD) == null;
+        }
+    }
+
+    private boolean exceedsThresholds(Properties statistics, MaintenanceConfig.Policy policy) {
+        return stat(statistics, "numberOfLooseObjects") > policy.getLooseObjectThreshold()
+                || stat(statistics, "numberOfPackFiles") > policy.getPackFileThreshold()
+                || stat(statistics, "numberOfLooseRefs") > policy.getLooseRefThreshold();
+    }
+
+    private MaintenanceStats recordSkipped(String repoName, String reason) {
+        MaintenanceStats previous = stats.get(repoName);
+        if (previous != null && previous.getLastRunAt() != null) {
+            // Keep the last run's figures and only note that the repository was checked
+            previous.setLastCheckedAt(LocalDateTime.now());
+            return previous;
+        }
+
+        MaintenanceStats result = new MaintenanceStats(repoName);
+        result.setStatus(MaintenanceStatus.SKIPPED);
+        result.setMessage(reason);
+        result.setLastCheckedAt(LocalDateTime.now());
+        stats.put(repoName, result);
+        return result;
+    }
+
+    private MaintenanceStats recordFailure(String repoName, String message) {
+        logger.error("Maintenance failed for repository {}: {}", repoName, message);
+
+        MaintenanceStats result = new MaintenanceStats(repoName);
+        result.setStatus(MaintenanceStatus.FAILED);
+        result.setMessage(message);
+        result.setLastCheckedAt(LocalDateTime.now());
+        result.setLastRunAt(LocalDateTime.now());
+        stats.put(repoName, result);
+        return result;
+    }
+
+    private static long stat(Properties statistics, String key) {
+        Object value = statistics.get(key);
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,197 @@
+package com.gitmanager.service;
+
+import com.gitmanager.cache.RefSnapshot;
+import com.gitmanager.dto.RefBatchRequest;
+import com.gitmanager.dto.RefCommandRequest;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.RefBatchResult;
+import com.gitmanager.model.RefBatchResult.RefCommandResult;
+import org.eclipse.jgit.lib.BatchRefUpdate;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class RefService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefService.class);
+    private static final String DEFAULT_REFLOG_MESSAGE = "batch ref update";
+
+    private final RepositoryService repositoryService;
+
+    public RefService(RepositoryService repositoryService) {
+        this.repositoryService = repositoryService;
+    }
+
+    /**
+     * Applies creates, updates and deletes of branches and tags in one {@link BatchRefUpdate}.
+     * <p>
+     * Every command is a compare-and-swap against the ref's current value, or against
+     * {@code expectedOldId} when given. An atomic batch either applies every command or none;
+     * it is atomic only if requested and the ref database supports transactions, which the
+     * result reports. Commands that fail validation are rejected up front, which aborts an
+     * atomic batch before anything is written.
+     */
+    public RefBatchResult applyBatch(String repoName, RefBatchRequest request) {
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
+             RevWalk walk = new RevWalk(repository)) {
+
+            RefSnapshot snapshot = repositoryService.getRefSnapshot(repoName, repository);
+            RefDatabase refDatabase = repository.getRefDatabase();
+            boolean atomic = request.isAtomic() && refDatabase.performsAtomicTransactions();
+
+            List<ReceiveCommand> commands = new ArrayList<>();
+            List<ReceiveCommand> accepted = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (RefCommandRequest commandRequest : request.getCommands()) {
+                ReceiveCommand command = toCommand(repoName, repository, snapshot, commandRequest, seen);
+                commands.add(command);
+                if (command.getResult() == ReceiveCommand.Result.NOT_ATTEMPTED) {
+                    accepted.add(command);
+                }
+            }
+
+            if (atomic && accepted.size() < commands.size()) {
+                ReceiveCommand.abort(accepted);
+            } else if (!accepted.isEmpty()) {
+                BatchRefUpdate batch = refDatabase.newBatchUpdate();
+                batch.setAtomic(atomic);
+                batch.setAllowNonFastForwards(true);
+                batch.setRefLogMessage(request.getMessage() != null && !request.getMessage().isEmpty()
+                        ? request.getMessage()
+                        : DEFAULT_REFLOG_MESSAGE, false);
+                batch.addCommand(accepted);
+                batch.execute(walk, NullProgressMonitor.INSTANCE);
+                recordChanges(repoName, accepted);
+            }
+
+            List<RefCommandResult> results = new ArrayList<>();
+            boolean successful = true;
+            for (int i = 0; i < commands.size(); i++) {
+                ReceiveCommand command = commands.get(i);
+                successful &= command.getResult() == ReceiveCommand.Result.OK;
+                results.add(new RefCommandResult(
+                        command.getRefName(),
+                        request.getCommands().get(i).getType().name(),
+                        idOrNull(command.getOldId()),
+                        idOrNull(command.getNewId()),
+                        command.getResult().name(),
+                        command.getMessage()));
+            }
+
+            logger.info("Applied batch of {} ref commands to repository: {} (atomic: {}, successful: {})",
+                    commands.size(), repoName, atomic, successful);
+            return new RefBatchResult(successful, atomic, results);
+
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to update refs: " + e.getMessage(), e);
+        }
+    }
+
+    private ReceiveCommand toCommand(String repoName, Repository repository, RefSnapshot snapshot,
+                                     RefCommandRequest request, Set<String> seen) throws IOException {
+        String name = request.getRef();
+        if (!name.startsWith(Constants.R_HEADS) && !name.startsWith(Constants.R_TAGS)) {
+            return rejected(name, "Only refs/heads/* and refs/tags/* can be updated");
+        }
+        if (!Repository.isValidRefName(name)) {
+            return rejected(name, "Invalid ref name");
+        }
+        if (!seen.add(name)) {
+            return rejected(name, "Ref appears more than once in the batch");
+        }
+
+        Ref current = snapshot.exactRef(name);
+        ObjectId oldId = current != null ? current.getObjectId() : ObjectId.zeroId();
+        String expected = request.getExpectedOldId();
+        if (expected != null && !expected.isEmpty()) {
+            if (!ObjectId.isId(expected)) {
+                return rejected(name, "Invalid expected old id: " + expected);
+            }
+            oldId = ObjectId.fromString(expected);
+        }
+
+        switch (request.getType()) {
+            case CREATE -> {
+                if (current != null) {
+                    return rejected(name, "Ref already exists");
+                }
+                oldId = ObjectId.zeroId();
+            }
+            case UPDATE -> {
+                if (current == null) {
+                    return rejected(name, "Ref does not exist");
+                }
+            }
+            case DELETE -> {
+                if (current == null) {
+                    return rejected(name, "Ref does not exist");
+                }
+                Ref head = snapshot.getHead();
+                if (head != null && head.isSymbolic() && head.getTarget().getName().equals(name)) {
+                    return rejected(name, "Cannot delete the current branch");
+                }
+                return new ReceiveCommand(oldId, ObjectId.zeroId(), name, ReceiveCommand.Type.DELETE);
+            }
+        }
+
+        String revision = request.getNewRevision();
+        if (revision == null || revision.isEmpty()) {
+            return rejected(name, "New revision is required");
+        }
+        ObjectId newId = repositoryService.resolveRevision(repoName, repository, revision);
+        if (newId == null) {
+            return rejected(name, "Revision not found: " + revision);
+        }
+        ReceiveCommand.Type type = request.getType() == RefCommandRequest.Type.CREATE
+                ? ReceiveCommand.Type.CREATE
+                : ReceiveCommand.Type.UPDATE;
+        return new ReceiveCommand(oldId, newId, name, type);
+    }
+
+    private void recordChanges(String repoName, List<ReceiveCommand> commands) {
+        int branchDelta = 0;
+        int tagDelta = 0;
+        for (ReceiveCommand command : commands) {
+            if (command.getResult() != ReceiveCommand.Result.OK) {
+                continue;
+            }
+            int delta = switch (command.getType()) {
+                case CREATE -> 1;
+                case DELETE -> -1;
+                default -> 0;
+            };
+            if (command.getRefName().startsWith(Constants.R_HEADS)) {
+                branchDelta += delta;
+            } else {
+                tagDelta += delta;
+            }
+        }
+        repositoryService.refreshRepositoryInfo(repoName, branchDelta, tagDelta);
+    }
+
+    private static ReceiveCommand rejected(String name, String message) {
+        ReceiveCommand command = new ReceiveCommand(ObjectId.zeroId(), ObjectId.zeroId(), name);
+        command.setResult(ReceiveCommand.Result.REJECTED_OTHER_REASON, message);
+        return command;
+    }
+
+    private static String idOrNull(ObjectId id) {
+        return id == null || ObjectId.zeroId().equals(id) ? null : id.getName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.gitmanager.service;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A held repository lock, released by {@link #close()}.
+ */
+final class RepositoryLock implements AutoCloseable {
+
+    private final Lock lock;
+    private final RepositoryLockManager.Metrics metrics;
+    private final long acquiredAt;
+    private boolean released;
+
+    RepositoryLock(Lock lock, RepositoryLockManager.Metrics metrics) {
+        this.lock = lock;
+        this.metrics = metrics;
+        this.acquiredAt = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        lock.unlock();
+        metrics.recordHold(System.nanoTime() - acquiredAt);
+    }
+}
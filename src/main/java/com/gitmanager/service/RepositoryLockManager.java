@@ -0,0 +1,117 @@
+package com.gitmanager.service;
+
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.LockStats;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-repository read/write locks. Any number of readers may hold a repository at once,
+ * while a writer (work tree or ref mutation) holds it alone.
+ * <p>
+ * Repository names are hashed onto a fixed set of fair locks, so memory stays constant and
+ * nothing has to be cleaned up when repositories come and go. Two repositories sharing a
+ * stripe only contend when one of them is being written to. Waiting is bounded by the
+ * configured timeout, after which the request fails with {@link ErrorCode#LOCK_TIMEOUT}.
+ */
+class RepositoryLockManager {
+
+    private final ReentrantReadWriteLock[] stripes;
+    private final long waitTimeoutNanos;
+    private final Metrics readMetrics = new Metrics();
+    private final Metrics writeMetrics = new Metrics();
+
+    RepositoryLockManager(int stripeCount, Duration waitTimeout) {
+        this.stripes = new ReentrantReadWriteLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock(true);
+        }
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    RepositoryLock read(String name) {
+        return acquire(name, stripe(name).readLock(), readMetrics, "read");
+    }
+
+    RepositoryLock write(String name) {
+        return acquire(name, stripe(name).writeLock(), writeMetrics, "write");
+    }
+
+    LockStats getStats() {
+        LockStats stats = new LockStats();
+        stats.setStripes(stripes.length);
+        stats.setWaitTimeoutMillis(TimeUnit.NANOSECONDS.toMillis(waitTimeoutNanos));
+        int queued = 0;
+        int readers = 0;
+        int writers = 0;
+        for (ReentrantReadWriteLock stripe : stripes) {
+            queued += stripe.getQueueLength();
+            readers += stripe.getReadLockCount();
+            writers += stripe.isWriteLocked() ? 1 : 0;
+        }
+        stats.setQueuedThreads(queued);
+        stats.setActiveReaders(readers);
+        stats.setActiveWriters(writers);
+        stats.setRead(readMetrics.snapshot());
+        stats.setWrite(writeMetrics.snapshot());
+        return stats;
+    }
+
+    private RepositoryLock acquire(String name, Lock lock, Metrics metrics, String mode) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for " + mode + " lock on repository: " + name, e);
+        }
+
+        long waited = System.nanoTime() - start;
+        if (!acquired) {
+            metrics.timeouts.incrementAndGet();
+            throw new RepositoryException("Timed out waiting for " + mode + " lock on repository: " + name,
+                    ErrorCode.LOCK_TIMEOUT);
+        }
+        metrics.recordWait(waited);
+        return new RepositoryLock(lock, metrics);
+    }
+
+    private ReentrantReadWriteLock stripe(String name) {
+        return stripes[Math.floorMod(name.hashCode(), stripes.length)];
+    }
+
+    static final class Metrics {
+
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final LongAdder totalWait = new LongAdder();
+        private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+        private final LongAdder totalHold = new LongAdder();
+        private final LongAccumulator maxHold = new LongAccumulator(Math::max, 0);
+
+        private void recordWait(long nanos) {
+            acquired.incrementAndGet();
+            totalWait.add(nanos);
+            maxWait.accumulate(nanos);
+        }
+
+        void recordHold(long nanos) {
+            totalHold.add(nanos);
+            maxHold.accumulate(nanos);
+        }
+
+        private LockStats.ModeStats snapshot() {
+            return new LockStats.ModeStats(acquired.get(), timeouts.get(),
+                    TimeUnit.NANOSECONDS.toMillis(totalWait.sum()), TimeUnit.NANOSECONDS.toMillis(maxWait.get()),
+                    TimeUnit.NANOSECONDS.toMillis(totalHold.sum()), TimeUnit.NANOSECONDS.toMillis(maxHold.get()));
+        }
+    }
+}
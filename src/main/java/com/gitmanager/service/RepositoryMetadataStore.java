@@ -0,0 +1,140 @@
+package com.gitmanager.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gitmanager.model.RepositoryMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * File-backed store of {@link RepositoryMetadata}, one JSON document per repository in a
+ * {@code .metadata} directory under the base path.
+ * <p>
+ * Documents are read once and then served from memory. Writes replace the document
+ * atomically, so a crash leaves either the old or the new version on disk. Frequent small
+ * changes go through {@link #update}, which only changes the document in memory; they reach
+ * the disk on the next {@link #flush()}.
+ */
+class RepositoryMetadataStore {
+
+    static final String METADATA_DIR = ".metadata";
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryMetadataStore.class);
+    private static final String EXTENSION = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Optional<RepositoryMetadata>> documents = new ConcurrentHashMap<>();
+    private final Set<String> dirty = new LinkedHashSet<>();
+
+    RepositoryMetadataStore(Path basePath) {
+        this.directory = basePath.resolve(METADATA_DIR);
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    RepositoryMetadata get(String name) {
+        return documents.computeIfAbsent(name, this::read).orElse(null);
+    }
+
+    synchronized void put(RepositoryMetadata metadata) throws IOException {
+        write(metadata);
+        documents.put(metadata.getName(), Optional.of(metadata));
+        dirty.remove(metadata.getName());
+    }
+
+    /**
+     * Changes a stored document in memory and schedules it for the next {@link #flush()}.
+     * Returns {@code false} if there is no document to change.
+     */
+    synchronized boolean update(String name, Consumer<RepositoryMetadata> change) {
+        RepositoryMetadata metadata = get(name);
+        if (metadata == null) {
+            return false;
+        }
+        change.accept(metadata);
+        dirty.add(name);
+        return true;
+    }
+
+    /**
+     * Writes the documents changed by {@link #update} since the last flush.
+     */
+    synchronized void flush() {
+        List<String> names = new ArrayList<>(dirty);
+        dirty.clear();
+        for (String name : names) {
+            RepositoryMetadata metadata = get(name);
+            if (metadata == null) {
+                continue;
+            }
+            try {
+                write(metadata);
+            } catch (IOException e) {
+                dirty.add(name);
+                logger.warn("Failed to write metadata of repository {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    synchronized void remove(String name) {
+        documents.remove(name);
+        dirty.remove(name);
+        try {
+            Files.deleteIfExists(documentPath(name));
+        } catch (IOException e) {
+            logger.warn("Failed to remove metadata of repository {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void write(RepositoryMetadata metadata) throws IOException {
+        Files.createDirectories(directory);
+        Path target = documentPath(metadata.getName());
+        Path temp = Files.createTempFile(directory, metadata.getName(), ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), metadata);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Optional<RepositoryMetadata> read(String name) {
+        Path path = documentPath(name);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(path.toFile(), RepositoryMetadata.class));
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable metadata of repository {}: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path documentPath(String name) {
+        return directory.resolve(name + EXTENSION);
+    }
+}
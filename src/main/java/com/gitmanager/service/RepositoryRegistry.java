@@ -0,0 +1,322 @@
+package com.gitmanager.service;
+
+import com.gitmanager.model.RepositoryInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the repositories under the storage roots, mapping each name to the
+ * root that holds it.
+ * <p>
+ * The index is built once with a parallel scan and then kept current by explicit
+ * register/unregister calls from {@link RepositoryService} and by a {@link WatchService}
+ * that picks up repositories added or removed outside the API. Repository info is
+ * cached per entry and reloaded lazily after {@link #refresh(String)}. A repository whose
+ * info can't be read is remembered as unreadable and only retried after a refresh or a
+ * watcher event for it, so listings don't keep reopening it.
+ */
+class RepositoryRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryRegistry.class);
+
+    private final List<Path> roots;
+    private final Predicate<Path> repositoryProbe;
+    private final Function<String, RepositoryInfo> infoLoader;
+    private final Consumer<String> removalListener;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Path> pending = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    RepositoryRegistry(List<Path> roots, Predicate<Path> repositoryProbe,
+                       Function<String, RepositoryInfo> infoLoader, Consumer<String> removalListener) {
+        this.roots = List.copyOf(roots);
+        this.repositoryProbe = repositoryProbe;
+        this.infoLoader = infoLoader;
+        this.removalListener = removalListener;
+    }
+
+    void start() {
+        startWatching();
+        rescan();
+    }
+
+    void rescan() {
+        long start = System.currentTimeMillis();
+        roots.forEach(this::scan);
+        logger.info("Indexed {} repositories on {} storage roots in {} ms",
+                entries.size(), roots.size(), System.currentTimeMillis() - start);
+    }
+
+    private void scan(Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.list(root)) {
+            paths.parallel()
+                    .filter(path -> !isHidden(path))
+                    .filter(repositoryProbe)
+                    .forEach(path -> registerIfAbsent(path.getFileName().toString(), root));
+        } catch (IOException e) {
+            logger.error("Failed to scan storage root {}: {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a repository on the given root, replacing any previous location.
+     */
+    void register(String name, Path root) {
+        Entry entry = new Entry(root);
+        // Published before the info is loaded, since loading resolves the location
+        entries.put(name, entry);
+        pending.remove(name);
+        load(name, entry);
+    }
+
+    void unregister(String name) {
+        entries.remove(name);
+        pending.remove(name);
+    }
+
+    /**
+     * Marks the cached info of a repository as stale so it is reloaded on next access.
+     */
+    void refresh(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            entry.info = null;
+            entry.loadFailed = false;
+        }
+    }
+
+    boolean contains(String name) {
+        return locate(name) != null;
+    }
+
+    /**
+     * Returns the storage root holding a repository, or {@code null} if it is unknown.
+     */
+    Path locate(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            return entry.root;
+        }
+        if (isHidden(Path.of(name))) {
+            return null;
+        }
+        // Not indexed yet (e.g. created externally before the watcher caught up)
+        for (Path root : roots) {
+            if (repositoryProbe.test(root.resolve(name))) {
+                registerIfAbsent(name, root);
+                entry = entries.get(name);
+                return entry != null ? entry.root : null;
+            }
+        }
+        return null;
+    }
+
+    RepositoryInfo get(String name) {
+        if (!contains(name)) {
+            return null;
+        }
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+
+        RepositoryInfo info = entry.info;
+        if (info == null && !entry.loadFailed) {
+            info = load(name, entry);
+        }
+        return info;
+    }
+
+    List<RepositoryInfo> list() {
+        resolvePending();
+
+        List<RepositoryInfo> repositories = new ArrayList<>(entries.size());
+        for (String name : entries.keySet()) {
+            RepositoryInfo info = get(name);
+            if (info != null) {
+                repositories.add(info);
+            }
+        }
+        repositories.sort(Comparator.comparing(RepositoryInfo::getName));
+        return repositories;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of indexed repositories on each storage root.
+     */
+    Map<Path, Integer> countByRoot() {
+        Map<Path, Integer> counts = new HashMap<>();
+        roots.forEach(root -> counts.put(root, 0));
+        entries.values().forEach(entry -> counts.merge(entry.root, 1, Integer::sum));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close repository watcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void registerIfAbsent(String name, Path root) {
+        Entry entry = new Entry(root);
+        Entry existing = entries.putIfAbsent(name, entry);
+        if (existing != null) {
+            if (!existing.root.equals(root)) {
+                logger.warn("Repository {} exists on both {} and {}, using the former",
+                        name, existing.root, root);
+            }
+            return;
+        }
+        pending.remove(name);
+        load(name, entry);
+    }
+
+    private RepositoryInfo load(String name, Entry entry) {
+        RepositoryInfo info = loadInfo(name);
+        entry.info = info;
+        entry.loadFailed = info == null;
+        return info;
+    }
+
+    private RepositoryInfo loadInfo(String name) {
+        try {
+            return infoLoader.apply(name);
+        } catch (Exception e) {
+            logger.warn("Could not read repository: {}", name);
+            return null;
+        }
+    }
+
+    private void resolvePending() {
+        pending.forEach((name, root) -> {
+            Path path = root.resolve(name);
+            if (!Files.exists(path)) {
+                pending.remove(name, root);
+            } else if (repositoryProbe.test(path)) {
+                registerIfAbsent(name, root);
+                pending.remove(name, root);
+            }
+        });
+    }
+
+    private void startWatching() {
+        try {
+            watchService = roots.get(0).getFileSystem().newWatchService();
+            for (Path root : roots) {
+                if (Files.isDirectory(root)) {
+                    root.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                }
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("Repository watcher unavailable, external changes will not be indexed: {}",
+                    e.getMessage());
+            watchService = null;
+            return;
+        }
+
+        Thread watcher = new Thread(this::watchLoop, "repository-registry-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path root = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handleEvent(root, event);
+                }
+                if (!key.reset()) {
+                    logger.warn("Storage root is no longer watchable: {}", root);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Registry closed
+        }
+    }
+
+    private void handleEvent(Path root, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            logger.info("Repository watcher overflowed, rescanning {}", root);
+            scan(root);
+            return;
+        }
+
+        Path name = (Path) event.context();
+        if (isHidden(name)) {
+            return;
+        }
+        String repoName = name.toString();
+
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+            // The directory is usually still empty here; probe it on next access
+            if (!entries.containsKey(repoName)) {
+                pending.put(repoName, root);
+            } else {
+                refresh(repoName);
+            }
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (Files.exists(root.resolve(repoName))) {
+                // Re-created since the event was queued
+                return;
+            }
+            // Only drop the entry if it still points here; a moved repository lives on elsewhere
+            Entry entry = entries.get(repoName);
+            if (entry != null && entry.root.equals(root) && entries.remove(repoName, entry)) {
+                logger.info("Repository removed externally: {}", repoName);
+                removalListener.accept(repoName);
+            }
+            pending.remove(repoName, root);
+        }
+    }
+
+    private static boolean isHidden(Path path) {
+        Path fileName = path.getFileName();
+        return fileName != null && fileName.toString().startsWith(".");
+    }
+
+    private static final class Entry {
+        private final Path root;
+        private volatile RepositoryInfo info;
+        private volatile boolean loadFailed;
+
+        private Entry(Path root) {
+            this.root = root;
+        }
+    }
+}
@@ -1,65 +1,168 @@
 package com.gitmanager.service;
 
+import com.gitmanager.cache.AheadBehindCache;
+import com.gitmanager.cache.BlobCache;
+import com.gitmanager.cache.CommitSummaryCache;
+import com.gitmanager.cache.MergeCheckCache;
+import com.gitmanager.cache.RefSnapshot;
+import com.gitmanager.cache.RefSnapshotCache;
+import com.gitmanager.cache.RepositoryHandleCache;
+import com.gitmanager.cache.TagSummaryCache;
+import com.gitmanager.cache.TreeListingCache;
 import com.gitmanager.config.GitRepositoryConfig;
 import com.gitmanager.dto.CloneRepositoryRequest;
 import com.gitmanager.dto.CreateRepositoryRequest;
 import com.gitmanager.exception.RepositoryException;
 import com.gitmanager.exception.RepositoryException.ErrorCode;
+import com.gitmanager.model.CacheStats;
+import com.gitmanager.model.LockStats;
 import com.gitmanager.model.RepositoryInfo;
+import com.gitmanager.model.RepositoryMetadata;
+import com.gitmanager.model.StorageRoot;
+import com.gitmanager.model.TrashEntry;
+import jakarta.annotation.PreDestroy;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ProgressMonitor;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.SshTransport;
+import org.eclipse.jgit.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileStore;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.time.Instant;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @Service
 public class RepositoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryService.class);
+    private static final String STAGING_DIR = ".incoming";
+    private static final int MAX_MOVE_ATTEMPTS = 3;
 
     private final GitRepositoryConfig config;
     private final SshService sshService;
+    private final List<Path> storageRoots;
+    private final RepositoryHandleCache repositoryCache;
+    private final CommitSummaryCache commitSummaryCache;
+    private final TagSummaryCache tagSummaryCache;
+    private final AheadBehindCache aheadBehindCache;
+    private final MergeCheckCache mergeCheckCache;
+    private final TreeListingCache treeListingCache;
+    private final BlobCache blobCache;
+    private final RefSnapshotCache refSnapshotCache;
+    private final RepositoryMetadataStore metadataStore;
+    private final RepositoryRegistry registry;
+    private final RepositoryTrash trash;
+    private final EphemeralRepositoryStore ephemeralStore;
+    private final RepositoryLockManager lockManager;
+    private final Set<String> objectStoreOwners = ConcurrentHashMap.newKeySet();
 
     public RepositoryService(GitRepositoryConfig config, SshService sshService) {
         this.config = config;
         this.sshService = sshService;
-        initializeBasePath();
+        this.repositoryCache = new RepositoryHandleCache(
+                config.getCache().getMaxSize(),
+                config.getCache().getIdleTimeout());
+        this.commitSummaryCache = new CommitSummaryCache(config.getCache().getCommitSummaries());
+        this.tagSummaryCache = new TagSummaryCache(config.getCache().getTagSummaries());
+        this.aheadBehindCache = new AheadBehindCache(config.getCache().getAheadBehind());
+        this.mergeCheckCache = new MergeCheckCache(config.getCache().getMergeChecks());
+        this.treeListingCache = new TreeListingCache(config.getCache().getTreeListings().toBytes());
+        this.blobCache = new BlobCache(config.getCache().getBlobs().toBytes(),
+                config.getCache().getBlobMaxSize().toBytes());
+        this.refSnapshotCache = new RefSnapshotCache(config.getCache().getRefSnapshotMaxAge());
+        this.lockManager = new RepositoryLockManager(config.getLock().getStripes(), config.getLock().getWaitTimeout());
+        this.storageRoots = config.getStorageRoots();
+        initializeStorageRoots();
+        this.metadataStore = new RepositoryMetadataStore(storageRoots.get(0));
+        this.registry = new RepositoryRegistry(
+                storageRoots,
+                this::isGitRepository,
+                this::loadRepositoryInfo,
+                this::onRepositoryRemoved);
+        this.trash = new RepositoryTrash(
+                config.getTrash().getBatchSize(),
+                config.getTrash().getBatchPause());
+        this.storageRoots.forEach(trash::recover);
+        this.ephemeralStore = new EphemeralRepositoryStore(
+                config.getEphemeral().getMaxRepositories(),
+                config.getEphemeral().getMaxMemory().toBytes(),
+                config.getEphemeral().getDefaultTtl(),
+                config.getEphemeral().getMaxTtl());
+        // Started last: the initial scan loads repository info through this service
+        this.registry.start();
     }
 
-    private void initializeBasePath() {
-        try {
-            Path basePath = Path.of(config.getBasePath());
-            if (!Files.exists(basePath)) {
-                Files.createDirectories(basePath);
-                logger.info("Created repository base path: {}", basePath);
+    @PreDestroy
+    public void shutdown() {
+        metadataStore.flush();
+        registry.close();
+        repositoryCache.close();
+        refSnapshotCache.close();
+        trash.close();
+        ephemeralStore.close();
+    }
+
+    private void initializeStorageRoots() {
+        for (Path root : storageRoots) {
+            try {
+                if (!Files.exists(root)) {
+                    Files.createDirectories(root);
+                    logger.info("Created storage root: {}", root);
+                }
+                // Leftovers of moves interrupted by a restart
+                FileUtils.delete(root.resolve(STAGING_DIR).toFile(),
+                        FileUtils.RECURSIVE | FileUtils.SKIP_MISSING | FileUtils.IGNORE_ERRORS);
+            } catch (IOException e) {
+                logger.error("Failed to initialize storage root {}: {}", root, e.getMessage());
             }
-        } catch (IOException e) {
-            logger.error("Failed to create base path: {}", e.getMessage());
         }
     }
 
     public RepositoryInfo createRepository(CreateRepositoryRequest request) {
-        Path repoPath = Path.of(config.getBasePath(), request.getName());
-        
-        if (Files.exists(repoPath)) {
-            throw new RepositoryException("Repository already exists: " + request.getName(),
-                    ErrorCode.REPOSITORY_ALREADY_EXISTS);
+        checkRepositoryAbsent(request.getName());
+        if (request.isEphemeral()) {
+            return createEphemeralRepository(request);
         }
+        if (request.getSourceUrl() != null && !request.getSourceUrl().isEmpty()) {
+            throw new RepositoryException("A source URL only seeds ephemeral repositories, clone to copy one to disk",
+                    ErrorCode.INVALID_OPERATION);
+        }
+        Path repoPath = placeRepository(request.getName(), request.getStorageRoot());
 
         try {
             Git git;
@@ -73,125 +176,692 @@ public class RepositoryService {
                         .setDirectory(repoPath.toFile())
                         .call();
             }
+            configureHistoryIndexes(git.getRepository());
+            storeMetadata(request.getName(), git.getRepository(), request.getDescription());
             git.close();
 
+            registry.register(request.getName(), repoPath.getParent());
             logger.info("Created repository: {}", request.getName());
             return getRepositoryInfo(request.getName());
-        } catch (GitAPIException e) {
+        } catch (GitAPIException | IOException e) {
             throw new RepositoryException("Failed to create repository: " + e.getMessage(), e);
         }
     }
 
-    public RepositoryInfo cloneRepository(CloneRepositoryRequest request) {
-        Path repoPath = Path.of(config.getBasePath(), request.getName());
+    private RepositoryInfo createEphemeralRepository(CreateRepositoryRequest request) {
+        try {
+            RepositoryInfo info = ephemeralStore.create(request.getName(), request.getDescription(), request.getTtl());
+            if (request.getSourceUrl() == null || request.getSourceUrl().isEmpty()) {
+                return info;
+            }
+            seedEphemeralRepository(request);
+            return ephemeralStore.info(request.getName());
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to create repository: " + e.getMessage(), e);
+        }
+    }
 
-        if (Files.exists(repoPath)) {
-            throw new RepositoryException("Repository already exists: " + request.getName(),
-                    ErrorCode.REPOSITORY_ALREADY_EXISTS);
+    /**
+     * Fetches all branches and tags of the source into a new ephemeral repository and points
+     * HEAD at the source's default branch. The repository is dropped again if the fetch fails
+     * or leaves the ephemeral repositories over their memory limit.
+     */
+    private void seedEphemeralRepository(CreateRepositoryRequest request) {
+        String name = request.getName();
+        try (Repository repository = ephemeralStore.open(name);
+             Git git = new Git(repository)) {
+            var fetchCommand = git.fetch()
+                    .setRemote(request.getSourceUrl())
+                    .setRefSpecs(
+                            new RefSpec("+" + Constants.R_HEADS + "*:" + Constants.R_HEADS + "*"),
+                            new RefSpec("+" + Constants.R_TAGS + "*:" + Constants.R_TAGS + "*"));
+            configureTransport(fetchCommand, request.isUseSsh());
+            FetchResult result = fetchCommand.call();
+
+            Ref head = result.getAdvertisedRef(Constants.HEAD);
+            if (head != null && head.isSymbolic() && repository.exactRef(head.getTarget().getName()) != null) {
+                repository.updateRef(Constants.HEAD).link(head.getTarget().getName());
+            }
+        } catch (GitAPIException | IOException e) {
+            ephemeralStore.remove(name);
+            throw new RepositoryException("Failed to seed repository: " + e.getMessage(), e, ErrorCode.CLONE_FAILED);
+        }
+
+        if (ephemeralStore.exceedsMemoryLimit()) {
+            ephemeralStore.remove(name);
+            throw new RepositoryException("Ephemeral repository memory limit reached seeding " + name,
+                    ErrorCode.EPHEMERAL_CAPACITY_EXCEEDED);
         }
+        logger.info("Seeded ephemeral repository: {} from {}", name, request.getSourceUrl());
+    }
+
+    public RepositoryInfo cloneRepository(CloneRepositoryRequest request) {
+        return cloneRepository(request, NullProgressMonitor.INSTANCE);
+    }
+
+    public RepositoryInfo cloneRepository(CloneRepositoryRequest request, ProgressMonitor monitor) {
+        checkCloneRequest(request);
+        checkRepositoryAbsent(request.getName());
+        Path repoPath = placeRepository(request.getName(), request.getStorageRoot());
 
         try {
             var cloneCommand = Git.cloneRepository()
                     .setURI(request.getUrl())
-                    .setDirectory(repoPath.toFile());
+                    .setDirectory(repoPath.toFile())
+                    .setProgressMonitor(monitor);
 
             if (request.getBranch() != null && !request.getBranch().isEmpty()) {
                 cloneCommand.setBranch(request.getBranch());
             }
 
-            if (request.isUseSsh()) {
-                cloneCommand.setTransportConfigCallback(transport -> {
-                    if (transport instanceof SshTransport sshTransport) {
-                        sshTransport.setSshSessionFactory(sshService.getSshSessionFactory());
-                    }
-                });
+            if (request.getDepth() != null) {
+                cloneCommand.setDepth(request.getDepth());
+            }
+
+            if (request.getShallowSince() != null) {
+                cloneCommand.setShallowSince(request.getShallowSince());
+            }
+
+            if (request.isSingleBranch()) {
+                String branch = request.getBranch() != null && !request.getBranch().isEmpty()
+                        ? request.getBranch()
+                        : resolveRemoteDefaultBranch(request);
+                cloneCommand.setBranch(branch)
+                        .setCloneAllBranches(false)
+                        .setBranchesToClone(List.of(Constants.R_HEADS + branch));
+            }
+
+            if (request.isNoTags()) {
+                cloneCommand.setNoTags();
             }
 
+            configureTransport(cloneCommand, request.isUseSsh());
+
             Git git = cloneCommand.call();
+            configureHistoryIndexes(git.getRepository());
+            storeMetadata(request.getName(), git.getRepository(), null);
             git.close();
 
+            registry.register(request.getName(), repoPath.getParent());
             logger.info("Cloned repository: {} from {}", request.getName(), request.getUrl());
             return getRepositoryInfo(request.getName());
-        } catch (GitAPIException e) {
+        } catch (GitAPIException | IOException e) {
             throw new RepositoryException("Failed to clone repository: " + e.getMessage(), e, ErrorCode.CLONE_FAILED);
         }
     }
 
-    public List<RepositoryInfo> listRepositories() {
-        List<RepositoryInfo> repositories = new ArrayList<>();
-        Path basePath = Path.of(config.getBasePath());
+    private String resolveRemoteDefaultBranch(CloneRepositoryRequest request) throws GitAPIException {
+        var lsRemote = Git.lsRemoteRepository().setRemote(request.getUrl());
+        configureTransport(lsRemote, request.isUseSsh());
 
-        if (!Files.exists(basePath)) {
-            return repositories;
+        Ref head = lsRemote.callAsMap().get(Constants.HEAD);
+        if (head == null || !head.isSymbolic()) {
+            throw new RepositoryException("Cannot determine default branch of " + request.getUrl()
+                    + ", specify a branch for single-branch clones", ErrorCode.INVALID_OPERATION);
         }
+        return Repository.shortenRefName(head.getTarget().getName());
+    }
 
-        try (Stream<Path> paths = Files.list(basePath)) {
-            paths.filter(Files::isDirectory)
-                    .forEach(path -> {
-                        try {
-                            if (isGitRepository(path)) {
-                                repositories.add(getRepositoryInfo(path.getFileName().toString()));
-                            }
-                        } catch (Exception e) {
-                            logger.warn("Could not read repository: {}", path.getFileName());
-                        }
-                    });
-        } catch (IOException e) {
-            throw new RepositoryException("Failed to list repositories: " + e.getMessage(), e);
+    private void configureTransport(TransportCommand<?, ?> command, boolean useSsh) {
+        if (useSsh) {
+            command.setTransportConfigCallback(transport -> {
+                if (transport instanceof SshTransport sshTransport) {
+                    sshTransport.setSshSessionFactory(sshService.getSshSessionFactory());
+                }
+            });
+        }
+    }
+
+    /**
+     * Enables commit-graph reads and makes GC write commit-graph files and pack bitmaps,
+     * so RevWalk-based history queries avoid parsing commits from packs.
+     */
+    public void configureHistoryIndexes(Repository repository) throws IOException {
+        StoredConfig repoConfig = repository.getConfig();
+        if (repoConfig.getBoolean(ConfigConstants.CONFIG_CORE_SECTION, ConfigConstants.CONFIG_COMMIT_GRAPH, false)
+                && repoConfig.getBoolean(ConfigConstants.CONFIG_GC_SECTION,
+                        ConfigConstants.CONFIG_KEY_WRITE_COMMIT_GRAPH, false)
+                && repoConfig.getBoolean(ConfigConstants.CONFIG_PACK_SECTION,
+                        ConfigConstants.CONFIG_KEY_BUILD_BITMAPS, false)) {
+            return;
+        }
+
+        repoConfig.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_COMMIT_GRAPH, true);
+        repoConfig.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null,
+                ConfigConstants.CONFIG_KEY_WRITE_COMMIT_GRAPH, true);
+        repoConfig.setBoolean(ConfigConstants.CONFIG_PACK_SECTION, null,
+                ConfigConstants.CONFIG_KEY_BUILD_BITMAPS, true);
+        repoConfig.save();
+    }
+
+    public Path getRepositoryPath(String name) {
+        if (ephemeralStore.contains(name)) {
+            throw new RepositoryException("Ephemeral repository has no storage path: " + name,
+                    ErrorCode.INVALID_OPERATION);
+        }
+        Path root = registry.locate(name);
+        if (root == null) {
+            throw new RepositoryException("Repository not found: " + name, ErrorCode.REPOSITORY_NOT_FOUND);
+        }
+        return root.resolve(name);
+    }
+
+    /**
+     * Rejects clone options that cannot be combined, so an asynchronous clone fails before
+     * it is queued rather than in the worker.
+     */
+    public void checkCloneRequest(CloneRepositoryRequest request) {
+        if (request.getDepth() != null && request.getShallowSince() != null) {
+            throw new RepositoryException("Clone depth and shallowSince cannot be combined",
+                    ErrorCode.INVALID_OPERATION);
+        }
+    }
+
+    public void checkRepositoryAbsent(String name) {
+        if (ephemeralStore.contains(name) || registry.contains(name) || storageRoots.stream().anyMatch(root -> Files.exists(root.resolve(name)))) {
+            throw new RepositoryException("Repository already exists: " + name,
+                    ErrorCode.REPOSITORY_ALREADY_EXISTS);
+        }
+    }
+
+    /**
+     * Chooses the path for a new repository: the requested storage root if one is given,
+     * otherwise the root picked by the configured placement policy.
+     */
+    public Path placeRepository(String name, String storageRoot) {
+        if (storageRoot != null && !storageRoot.isBlank()) {
+            return resolveStorageRoot(storageRoot).resolve(name);
+        }
+        if (storageRoots.size() == 1) {
+            return storageRoots.get(0).resolve(name);
+        }
+
+        Path root = switch (config.getStorage().getPlacement()) {
+            case HASH -> storageRoots.get(Math.floorMod(name.hashCode(), storageRoots.size()));
+            case LEAST_USED -> leastUsedStorageRoot();
+            case EXPLICIT -> throw new RepositoryException("A storage root must be specified for new repositories",
+                    ErrorCode.INVALID_OPERATION);
+        };
+        return root.resolve(name);
+    }
+
+    public List<StorageRoot> getStorageRoots() {
+        Map<Path, Integer> counts = registry.countByRoot();
+        List<StorageRoot> result = new ArrayList<>(storageRoots.size());
+        for (Path root : storageRoots) {
+            StorageRoot storageRoot = new StorageRoot(root.toString(), counts.getOrDefault(root, 0));
+            try {
+                FileStore store = Files.getFileStore(root);
+                storageRoot.setUsableBytes(store.getUsableSpace());
+                storageRoot.setTotalBytes(store.getTotalSpace());
+            } catch (IOException e) {
+                logger.warn("Failed to read capacity of storage root {}: {}", root, e.getMessage());
+            }
+            result.add(storageRoot);
+        }
+        return result;
+    }
+
+    private Path leastUsedStorageRoot() {
+        // Fewest repositories first, most free space as the tie-breaker
+        return getStorageRoots().stream()
+                .min(Comparator.comparingInt(StorageRoot::getRepositoryCount)
+                        .thenComparing(Comparator.comparingLong(StorageRoot::getUsableBytes).reversed()))
+                .map(root -> Path.of(root.getPath()))
+                .orElse(storageRoots.get(0));
+    }
+
+    private Path resolveStorageRoot(String storageRoot) {
+        Path root = Path.of(storageRoot).toAbsolutePath().normalize();
+        if (!storageRoots.contains(root)) {
+            throw new RepositoryException("Unknown storage root: " + storageRoot, ErrorCode.INVALID_OPERATION);
+        }
+        return root;
+    }
+
+    /**
+     * Moves a repository to another storage root while it stays available. The repository
+     * is copied into a staging directory on the target root, and the copy is retried if its
+     * refs changed in the meantime. The registry is then switched to the new location and
+     * the old copy goes to the trash. Moves and maintenance exclude each other, since GC
+     * rewrites packs without changing any ref.
+     */
+    public RepositoryInfo moveRepository(String name, String storageRoot) {
+        Path source = getRepositoryPath(name);
+        Path targetRoot = resolveStorageRoot(storageRoot);
+        if (source.getParent().equals(targetRoot)) {
+            throw new RepositoryException("Repository is already on storage root: " + targetRoot,
+                    ErrorCode.INVALID_OPERATION);
+        }
+
+        Path target = targetRoot.resolve(name);
+        if (Files.exists(target)) {
+            throw new RepositoryException("Path already exists on target storage root: " + target,
+                    ErrorCode.REPOSITORY_ALREADY_EXISTS);
         }
 
-        return repositories;
+        // GC repacks and prunes without touching refs, so the ref check below can't catch it
+        if (!claimObjectStore(name)) {
+            throw new RepositoryException("Maintenance is running on repository: " + name,
+                    ErrorCode.INVALID_OPERATION);
+        }
+        try {
+            relocate(name, source, targetRoot, target);
+        } finally {
+            releaseObjectStore(name);
+        }
+        return getRepositoryInfo(name);
+    }
+
+    private void relocate(String name, Path source, Path targetRoot, Path target) {
+        Path staging = targetRoot.resolve(STAGING_DIR)
+                .resolve(name + "." + UUID.randomUUID().toString().substring(0, 8));
+        try {
+            for (int attempt = 1; ; attempt++) {
+                // The copy runs under a read lock, so reads carry on while it is made; the
+                // switch to it happens under the write lock, and only if no ref changed since
+                Map<String, String> refsCopied;
+                try (RepositoryLock lock = readLock(name)) {
+                    refsCopied = snapshotRefs(name);
+                    copyTree(source, staging);
+                    if (!refsCopied.equals(snapshotRefs(name))) {
+                        // Changed from outside this service during the copy
+                        refsCopied = null;
+                    }
+                }
+
+                try (RepositoryLock lock = writeLock(name)) {
+                    if (!source.equals(getRepositoryPath(name))) {
+                        throw new RepositoryException("Repository was moved concurrently: " + name,
+                                ErrorCode.INVALID_OPERATION);
+                    }
+                    if (refsCopied != null && refsCopied.equals(snapshotRefs(name))) {
+                        Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                        registry.register(name, targetRoot);
+                        repositoryCache.invalidate(name);
+                        refSnapshotCache.invalidate(name);
+                        trash.moveToTrash(name, source);
+                        logger.info("Moved repository: {} from {} to {}", name, source.getParent(), targetRoot);
+                        break;
+                    }
+                }
+
+                FileUtils.delete(staging.toFile(), FileUtils.RECURSIVE);
+                if (attempt == MAX_MOVE_ATTEMPTS) {
+                    throw new RepositoryException("Repository kept changing while being moved: " + name,
+                            ErrorCode.INVALID_OPERATION);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                FileUtils.delete(staging.toFile(), FileUtils.RECURSIVE | FileUtils.SKIP_MISSING);
+            } catch (IOException cleanupFailure) {
+                logger.warn("Failed to clean up staged copy {}: {}", staging, cleanupFailure.getMessage());
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RepositoryException("Failed to move repository: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, String> snapshotRefs(String name) throws IOException {
+        try (Repository repository = openRepository(name)) {
+            Map<String, String> refs = new HashMap<>();
+            List<Ref> allRefs = new ArrayList<>(repository.getRefDatabase().getRefs());
+            Ref head = repository.exactRef(Constants.HEAD);
+            if (head != null) {
+                allRefs.add(head);
+            }
+            for (Ref ref : allRefs) {
+                refs.put(ref.getName(), ref.isSymbolic()
+                        ? ref.getTarget().getName()
+                        : String.valueOf(ref.getObjectId()));
+            }
+            return refs;
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                // Lock files belong to writers on the source and would block writes on the copy
+                if (!file.getFileName().toString().endsWith(".lock")) {
+                    try {
+                        Files.copy(file, target.resolve(source.relativize(file)),
+                                StandardCopyOption.COPY_ATTRIBUTES);
+                    } catch (NoSuchFileException e) {
+                        // Removed concurrently, e.g. a loose object packed by GC
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (exc instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw exc;
+            }
+        });
+    }
+
+    public List<RepositoryInfo> listRepositories() {
+        List<RepositoryInfo> repositories = registry.list();
+        List<RepositoryInfo> ephemeral = ephemeralStore.list();
+        if (ephemeral.isEmpty()) {
+            return repositories;
+        }
+        List<RepositoryInfo> result = new ArrayList<>(repositories);
+        result.addAll(ephemeral);
+        result.sort(Comparator.comparing(RepositoryInfo::getName));
+        return result;
+    }
+
+    public boolean isEphemeral(String name) {
+        return ephemeralStore.contains(name);
     }
 
     public RepositoryInfo getRepositoryInfo(String name) {
-        Path repoPath = Path.of(config.getBasePath(), name);
-        
-        if (!isGitRepository(repoPath)) {
+        RepositoryInfo info = ephemeralStore.contains(name) ? ephemeralStore.info(name) : registry.get(name);
+        if (info == null) {
             throw new RepositoryException("Repository not found: " + name, ErrorCode.REPOSITORY_NOT_FOUND);
         }
+        return info;
+    }
+
+    /**
+     * Records a write to a repository that moved HEAD or existing refs, such as a checkout
+     * or a merge, updating its current branch and last-updated time.
+     */
+    public void refreshRepositoryInfo(String name) {
+        refreshRepositoryInfo(name, 0, 0);
+    }
+
+    /**
+     * Records a write to a repository that also created or deleted branches or tags. The
+     * stored counts are adjusted by the given deltas instead of being recounted, and the
+     * change reaches the disk with the next metadata flush; the size is only recomputed by
+     * {@link #refreshRepositoryStatistics(String)}.
+     */
+    public void refreshRepositoryInfo(String name, int branchDelta, int tagDelta) {
+        refSnapshotCache.invalidate(name);
+        if (ephemeralStore.contains(name)) {
+            ephemeralStore.touch(name);
+            return;
+        }
+
+        String currentBranch;
+        try (Repository repository = openRepository(name)) {
+            currentBranch = repository.getBranch();
+        } catch (IOException e) {
+            logger.warn("Failed to read current branch of repository {}: {}", name, e.getMessage());
+            currentBranch = null;
+        }
+        String branch = currentBranch;
+        boolean updated = metadataStore.update(name, metadata -> {
+            if (branch != null) {
+                metadata.setCurrentBranch(branch);
+            }
+            metadata.setBranchCount(Math.max(0, metadata.getBranchCount() + branchDelta));
+            metadata.setTagCount(Math.max(0, metadata.getTagCount() + tagDelta));
+            metadata.setUpdatedAt(LocalDateTime.now());
+        });
+        if (!updated) {
+            updateMetadata(name, true);
+            return;
+        }
+        registry.refresh(name);
+    }
+
+    @Scheduled(fixedDelayString = "${git.repository.metadata-flush-interval:PT10S}")
+    public void flushMetadata() {
+        metadataStore.flush();
+    }
+
+    /**
+     * Recomputes the stored size and counts of a repository without marking it as updated,
+     * e.g. after garbage collection.
+     */
+    public void refreshRepositoryStatistics(String name) {
+        if (!ephemeralStore.contains(name)) {
+            updateMetadata(name, false);
+        }
+    }
 
+    private void updateMetadata(String name, boolean touch) {
+        RepositoryMetadata metadata = metadataStore.get(name);
         try (Repository repository = openRepository(name)) {
-            File repoDir = repository.getDirectory();
-            boolean isBare = repository.isBare();
-            String currentBranch = repository.getBranch();
-
-            LocalDateTime createdAt = LocalDateTime.ofInstant(
-                    Instant.ofEpochMilli(repoDir.lastModified()),
-                    ZoneId.systemDefault());
-
-            return new RepositoryInfo(
-                    name,
-                    repoPath.toString(),
-                    null,
-                    currentBranch,
-                    createdAt,
-                    createdAt,
-                    isBare
-            );
+            if (metadata == null) {
+                metadata = deriveMetadata(name, repository);
+            }
+            collectStatistics(repository, metadata);
+            if (touch) {
+                metadata.setUpdatedAt(LocalDateTime.now());
+            }
+            metadataStore.put(metadata);
         } catch (IOException e) {
-            throw new RepositoryException("Failed to get repository info: " + e.getMessage(), e);
+            logger.warn("Failed to update metadata of repository {}: {}", name, e.getMessage());
+        }
+        registry.refresh(name);
+    }
+
+    private void storeMetadata(String name, Repository repository, String description) throws IOException {
+        RepositoryMetadata metadata = new RepositoryMetadata(name);
+        metadata.setDescription(description);
+        metadata.setCreatedAt(LocalDateTime.now());
+        metadata.setUpdatedAt(metadata.getCreatedAt());
+        metadata.setDefaultBranch(repository.getBranch());
+        collectStatistics(repository, metadata);
+        metadataStore.put(metadata);
+    }
+
+    private RepositoryInfo loadRepositoryInfo(String name) {
+        RepositoryMetadata metadata = metadataStore.get(name);
+        if (metadata == null) {
+            // Repository created outside the service or before metadata was kept
+            try (Repository repository = buildRepository(name)) {
+                metadata = deriveMetadata(name, repository);
+                collectStatistics(repository, metadata);
+                metadataStore.put(metadata);
+            } catch (IOException e) {
+                throw new RepositoryException("Failed to get repository info: " + e.getMessage(), e);
+            }
+        }
+
+        RepositoryInfo info = new RepositoryInfo(
+                name,
+                getRepositoryPath(name).toString(),
+                metadata.getDescription(),
+                metadata.getCurrentBranch(),
+                metadata.getCreatedAt(),
+                metadata.getUpdatedAt(),
+                metadata.isBare()
+        );
+        info.setShallow(metadata.isShallow());
+        info.setDefaultBranch(metadata.getDefaultBranch());
+        info.setSizeBytes(metadata.getSizeBytes());
+        info.setBranchCount(metadata.getBranchCount());
+        info.setTagCount(metadata.getTagCount());
+        return info;
+    }
+
+    private RepositoryMetadata deriveMetadata(String name, Repository repository) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(
+                repository.getDirectory().toPath(), BasicFileAttributes.class);
+
+        RepositoryMetadata metadata = new RepositoryMetadata(name);
+        metadata.setCreatedAt(toLocalDateTime(attributes.creationTime()));
+        metadata.setUpdatedAt(toLocalDateTime(attributes.lastModifiedTime()));
+        metadata.setDefaultBranch(repository.getBranch());
+        return metadata;
+    }
+
+    private void collectStatistics(Repository repository, RepositoryMetadata metadata) throws IOException {
+        RefDatabase refDatabase = repository.getRefDatabase();
+        metadata.setCurrentBranch(repository.getBranch());
+        metadata.setBare(repository.isBare());
+        metadata.setShallow(!repository.getObjectDatabase().getShallowCommits().isEmpty());
+        metadata.setBranchCount(refDatabase.getRefsByPrefix(Constants.R_HEADS).size());
+        metadata.setTagCount(refDatabase.getRefsByPrefix(Constants.R_TAGS).size());
+        metadata.setSizeBytes(directorySize(repository.getDirectory().toPath()));
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
+    private static LocalDateTime toLocalDateTime(FileTime time) {
+        return LocalDateTime.ofInstant(time.toInstant(), ZoneId.systemDefault());
+    }
+
+    private void onRepositoryRemoved(String name) {
+        repositoryCache.invalidate(name);
+        refSnapshotCache.invalidate(name);
+        metadataStore.remove(name);
+    }
+
     public void deleteRepository(String name) {
-        Path repoPath = Path.of(config.getBasePath(), name);
-        
-        if (!isGitRepository(repoPath)) {
-            throw new RepositoryException("Repository not found: " + name, ErrorCode.REPOSITORY_NOT_FOUND);
+        try (RepositoryLock lock = writeLock(name)) {
+            deleteRepositoryLocked(name);
+        }
+    }
+
+    private void deleteRepositoryLocked(String name) {
+        refSnapshotCache.invalidate(name);
+        if (ephemeralStore.remove(name)) {
+            logger.info("Deleted ephemeral repository: {}", name);
+            return;
         }
+        Path repoPath = getRepositoryPath(name);
+
+        registry.unregister(name);
+        repositoryCache.invalidate(name);
 
-        try (Stream<Path> walk = Files.walk(repoPath)) {
-            walk.sorted(Comparator.reverseOrder())
-                    .map(Path::toFile)
-                    .forEach(File::delete);
+        try {
+            trash.moveToTrash(name, repoPath);
+            metadataStore.remove(name);
             logger.info("Deleted repository: {}", name);
         } catch (IOException e) {
+            registry.register(name, repoPath.getParent());
             throw new RepositoryException("Failed to delete repository: " + e.getMessage(), e);
         }
     }
 
+    public List<TrashEntry> getTrashEntries() {
+        return trash.getEntries();
+    }
+
+    /**
+     * Borrows a handle from the repository cache, or from the ephemeral store for in-memory
+     * repositories. Callers must close the returned repository, which releases their
+     * reference without closing the underlying handle.
+     */
     public Repository openRepository(String name) {
-        Path repoPath = Path.of(config.getBasePath(), name);
+        Repository ephemeral = ephemeralStore.open(name);
+        if (ephemeral != null) {
+            return ephemeral;
+        }
+        return repositoryCache.borrow(name, this::buildRepository);
+    }
+
+    /**
+     * Takes a shared lock on a repository for an operation that only reads from it.
+     */
+    RepositoryLock readLock(String name) {
+        return lockManager.read(name);
+    }
+
+    /**
+     * Takes an exclusive lock on a repository for an operation that changes its work tree
+     * or refs.
+     */
+    RepositoryLock writeLock(String name) {
+        return lockManager.write(name);
+    }
+
+    /**
+     * Claims a repository's object store for an operation that rewrites or copies it as a
+     * whole, i.e. GC or a move, neither of which the ref locks protect against the other.
+     * Returns {@code false} if another such operation holds it.
+     */
+    boolean claimObjectStore(String name) {
+        return objectStoreOwners.add(name);
+    }
+
+    void releaseObjectStore(String name) {
+        objectStoreOwners.remove(name);
+    }
+
+    public LockStats getLockStats() {
+        return lockManager.getStats();
+    }
+
+    public CacheStats getRepositoryCacheStats() {
+        return repositoryCache.getStats();
+    }
+
+    public CommitSummaryCache getCommitSummaryCache() {
+        return commitSummaryCache;
+    }
+
+    public TagSummaryCache getTagSummaryCache() {
+        return tagSummaryCache;
+    }
+
+    public AheadBehindCache getAheadBehindCache() {
+        return aheadBehindCache;
+    }
+
+    public MergeCheckCache getMergeCheckCache() {
+        return mergeCheckCache;
+    }
+
+    public TreeListingCache getTreeListingCache() {
+        return treeListingCache;
+    }
+
+    public BlobCache getBlobCache() {
+        return blobCache;
+    }
+
+    /**
+     * Returns the current ref snapshot of a repository, building it from the given open
+     * handle if needed.
+     */
+    public RefSnapshot getRefSnapshot(String name, Repository repository) throws IOException {
+        return refSnapshotCache.get(name, repository);
+    }
+
+    /**
+     * Resolves a revision, answering plain ref names and full ids from the ref snapshot
+     * and falling back to {@link Repository#resolve(String)} for anything else.
+     */
+    public ObjectId resolveRevision(String name, Repository repository, String revision) throws IOException {
+        ObjectId objectId = getRefSnapshot(name, repository).resolve(revision);
+        return objectId != null ? objectId : repository.resolve(revision);
+    }
+
+    public CacheStats getRefSnapshotCacheStats() {
+        return refSnapshotCache.getStats();
+    }
+
+    private Repository buildRepository(String name) {
+        Path repoPath = getRepositoryPath(name);
         
         if (!isGitRepository(repoPath)) {
             throw new RepositoryException("Repository not found: " + name, ErrorCode.REPOSITORY_NOT_FOUND);
@@ -0,0 +1,199 @@
+package com.gitmanager.service;
+
+import com.gitmanager.model.TrashEntry;
+import com.gitmanager.model.TrashEntry.ReclaimStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Deletes repositories by renaming them into a {@code .trash} directory next to them and
+ * reclaiming the space on a single background thread.
+ * <p>
+ * The rename is atomic, so the repository name can be reused as soon as
+ * {@link #moveToTrash} returns. Reclamation deletes files in batches with a pause in
+ * between to limit the I/O it competes with, and records progress and failures on the
+ * returned {@link TrashEntry}.
+ */
+class RepositoryTrash implements AutoCloseable {
+
+    static final String TRASH_DIR = ".trash";
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryTrash.class);
+    private static final int MAX_FINISHED_ENTRIES = 100;
+
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final ExecutorService reclaimer;
+    private final Deque<TrashEntry> entries = new ConcurrentLinkedDeque<>();
+
+    RepositoryTrash(int batchSize, Duration batchPause) {
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPauseMillis = batchPause.toMillis();
+        this.reclaimer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repository-trash-reclaimer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    TrashEntry moveToTrash(String name, Path repoPath) throws IOException {
+        Path trashDir = repoPath.getParent().resolve(TRASH_DIR);
+        Files.createDirectories(trashDir);
+
+        Path target = trashDir.resolve(name + "." + System.currentTimeMillis() + "."
+                + UUID.randomUUID().toString().substring(0, 8));
+        try {
+            Files.move(repoPath, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(repoPath, target);
+        }
+
+        TrashEntry entry = new TrashEntry(name, target.toString(), LocalDateTime.now());
+        schedule(entry, target);
+        return entry;
+    }
+
+    /**
+     * Schedules reclamation of anything left in the trash directory of the given root,
+     * e.g. after a restart interrupted a previous reclamation.
+     */
+    void recover(Path root) {
+        Path trashDir = root.resolve(TRASH_DIR);
+        if (!Files.isDirectory(trashDir)) {
+            return;
+        }
+
+        try (Stream<Path> leftovers = Files.list(trashDir)) {
+            leftovers.forEach(path -> {
+                String fileName = path.getFileName().toString();
+                int separator = fileName.indexOf('.');
+                String name = separator > 0 ? fileName.substring(0, separator) : fileName;
+                schedule(new TrashEntry(name, path.toString(), LocalDateTime.now()), path);
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to scan trash directory {}: {}", trashDir, e.getMessage());
+        }
+    }
+
+    List<TrashEntry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    @Override
+    public void close() {
+        reclaimer.shutdownNow();
+        try {
+            if (!reclaimer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Trash reclaimer did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(TrashEntry entry, Path path) {
+        entries.addFirst(entry);
+        trimFinished();
+        reclaimer.execute(() -> reclaim(entry, path));
+    }
+
+    private void reclaim(TrashEntry entry, Path path) {
+        entry.setStatus(ReclaimStatus.RECLAIMING);
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    return delete(entry, file, attrs.size());
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    recordFailure(entry, file, exc);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    return delete(entry, dir, 0);
+                }
+            });
+        } catch (IOException e) {
+            recordFailure(entry, path, e);
+        }
+
+        entry.setFinishedAt(LocalDateTime.now());
+        if (entry.getFailures() == 0 && !Files.exists(path)) {
+            entry.setStatus(ReclaimStatus.RECLAIMED);
+            logger.info("Reclaimed {} bytes from deleted repository: {}",
+                    entry.getBytesReclaimed(), entry.getRepositoryName());
+        } else {
+            entry.setStatus(ReclaimStatus.FAILED);
+            logger.error("Failed to fully reclaim deleted repository {} ({} failures): {}",
+                    entry.getRepositoryName(), entry.getFailures(), entry.getLastError());
+        }
+    }
+
+    private FileVisitResult delete(TrashEntry entry, Path path, long size) {
+        if (Thread.currentThread().isInterrupted()) {
+            entry.setLastError("Reclamation interrupted");
+            return FileVisitResult.TERMINATE;
+        }
+
+        try {
+            Files.delete(path);
+            entry.setFilesDeleted(entry.getFilesDeleted() + 1);
+            entry.setBytesReclaimed(entry.getBytesReclaimed() + size);
+        } catch (IOException e) {
+            recordFailure(entry, path, e);
+        }
+
+        if (batchPauseMillis > 0 && (entry.getFilesDeleted() + entry.getFailures()) % batchSize == 0) {
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.setLastError("Reclamation interrupted");
+                return FileVisitResult.TERMINATE;
+            }
+        }
+        return FileVisitResult.CONTINUE;
+    }
+
+    private void recordFailure(TrashEntry entry, Path path, IOException e) {
+        entry.setFailures(entry.getFailures() + 1);
+        entry.setLastError(path + ": " + e.getMessage());
+    }
+
+    private void trimFinished() {
+        long finished = entries.stream().filter(entry -> entry.getFinishedAt() != null).count();
+        while (finished > MAX_FINISHED_ENTRIES) {
+            TrashEntry last = entries.peekLast();
+            if (last == null || last.getFinishedAt() == null) {
+                break;
+            }
+            entries.pollLast();
+            finished--;
+        }
+    }
+}
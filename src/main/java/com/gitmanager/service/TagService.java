@@ -1,5 +1,7 @@
 package com.gitmanager.service;
 
+import com.gitmanager.cache.CommitSummary;
+import com.gitmanager.cache.TagSummary;
 import com.gitmanager.dto.CreateTagRequest;
 import com.gitmanager.exception.RepositoryException;
 import com.gitmanager.exception.RepositoryException.ErrorCode;
@@ -10,19 +12,15 @@ import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevObject;
-import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class TagService {
@@ -37,36 +35,25 @@ public class TagService {
     }
 
     public List<TagInfo> listTags(String repoName) {
-        List<TagInfo> tags = new ArrayList<>();
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
 
-        try (Repository repository = repositoryService.openRepository(repoName);
-             Git git = new Git(repository)) {
-
-            List<Ref> refs = git.tagList().call();
-
-            for (Ref ref : refs) {
-                TagInfo tagInfo = createTagInfo(repository, ref);
-                tags.add(tagInfo);
-            }
+            List<Ref> refs = repositoryService.getRefSnapshot(repoName, repository).getTags();
+            return createTagInfos(repository, refs);
 
-        } catch (GitAPIException | IOException e) {
+        } catch (IOException e) {
             throw new RepositoryException("Failed to list tags: " + e.getMessage(), e);
         }
-
-        return tags;
     }
 
     public TagInfo createTag(String repoName, CreateTagRequest request) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
-            // Check if tag already exists
-            List<Ref> existingTags = git.tagList().call();
-            for (Ref ref : existingTags) {
-                if (ref.getName().equals(REFS_TAGS_PREFIX + request.getName())) {
-                    throw new RepositoryException("Tag already exists: " + request.getName(),
-                            ErrorCode.TAG_ALREADY_EXISTS);
-                }
+            if (repositoryService.getRefSnapshot(repoName, repository).getTag(request.getName()) != null) {
+                throw new RepositoryException("Tag already exists: " + request.getName(),
+                        ErrorCode.TAG_ALREADY_EXISTS);
             }
 
             var tagCommand = git.tag()
@@ -78,7 +65,7 @@ public class TagService {
             }
 
             if (request.getCommitId() != null && !request.getCommitId().isEmpty()) {
-                ObjectId objectId = repository.resolve(request.getCommitId());
+                ObjectId objectId = repositoryService.resolveRevision(repoName, repository, request.getCommitId());
                 if (objectId == null) {
                     throw new RepositoryException("Commit not found: " + request.getCommitId(),
                             ErrorCode.INVALID_OPERATION);
@@ -90,6 +77,7 @@ public class TagService {
             }
 
             Ref ref = tagCommand.call();
+            repositoryService.refreshRepositoryInfo(repoName, 0, 1);
 
             logger.info("Created tag: {} in repository: {}", request.getName(), repoName);
             return createTagInfo(repository, ref);
@@ -100,34 +88,33 @@ public class TagService {
     }
 
     public TagInfo getTag(String repoName, String tagName) {
-        try (Repository repository = repositoryService.openRepository(repoName);
-             Git git = new Git(repository)) {
+        try (RepositoryLock lock = repositoryService.readLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName)) {
 
-            List<Ref> refs = git.tagList().call();
-            for (Ref ref : refs) {
-                String name = ref.getName();
-                if (name.startsWith(REFS_TAGS_PREFIX)) {
-                    name = name.substring(REFS_TAGS_PREFIX.length());
-                }
-                if (name.equals(tagName)) {
-                    return createTagInfo(repository, ref);
-                }
+            Ref ref = repositoryService.getRefSnapshot(repoName, repository).getTag(tagName);
+            if (ref == null) {
+                throw new RepositoryException("Tag not found: " + tagName, ErrorCode.TAG_NOT_FOUND);
             }
+            return createTagInfo(repository, ref);
 
-            throw new RepositoryException("Tag not found: " + tagName, ErrorCode.TAG_NOT_FOUND);
-
-        } catch (GitAPIException | IOException e) {
+        } catch (IOException e) {
             throw new RepositoryException("Failed to get tag: " + e.getMessage(), e);
         }
     }
 
     public void deleteTag(String repoName, String tagName) {
-        try (Repository repository = repositoryService.openRepository(repoName);
+        try (RepositoryLock lock = repositoryService.writeLock(repoName);
+             Repository repository = repositoryService.openRepository(repoName);
              Git git = new Git(repository)) {
 
-            git.tagDelete()
+            List<String> deleted = git.tagDelete()
                     .setTags(tagName)
                     .call();
+            // A missing tag is skipped rather than reported
+            if (deleted.isEmpty()) {
+                throw new RepositoryException("Tag not found: " + tagName, ErrorCode.TAG_NOT_FOUND);
+            }
+            repositoryService.refreshRepositoryInfo(repoName, 0, -deleted.size());
 
             logger.info("Deleted tag: {} from repository: {}", tagName, repoName);
 
@@ -140,53 +127,61 @@ public class TagService {
     }
 
     private TagInfo createTagInfo(Repository repository, Ref ref) throws IOException {
-        String tagName = ref.getName();
-        if (tagName.startsWith(REFS_TAGS_PREFIX)) {
-            tagName = tagName.substring(REFS_TAGS_PREFIX.length());
+        if (!ref.isPeeled()) {
+            ref = repository.getRefDatabase().peel(ref);
         }
+        return createTagInfos(repository, List.of(ref)).get(0);
+    }
 
-        ObjectId objectId = ref.getPeeledObjectId();
-        if (objectId == null) {
-            objectId = ref.getObjectId();
+    /**
+     * Builds tag infos for peeled tag refs. A peeled id marks an annotated tag, so each
+     * tag goes straight to the tag or commit summary cache and misses are read in one
+     * batch per kind.
+     */
+    private List<TagInfo> createTagInfos(Repository repository, List<Ref> refs) throws IOException {
+        List<ObjectId> tagIds = new ArrayList<>();
+        List<ObjectId> commitIds = new ArrayList<>();
+        for (Ref ref : refs) {
+            if (ref.getPeeledObjectId() != null) {
+                tagIds.add(ref.getObjectId());
+            } else if (ref.getObjectId() != null) {
+                commitIds.add(ref.getObjectId());
+            }
         }
 
-        try (RevWalk revWalk = new RevWalk(repository)) {
-            RevObject revObject = revWalk.parseAny(ref.getObjectId());
-
-            if (revObject instanceof RevTag revTag) {
-                // Annotated tag
-                LocalDateTime tagDate = LocalDateTime.ofInstant(
-                        revTag.getTaggerIdent().getWhen().toInstant(),
-                        ZoneId.systemDefault());
-
-                RevCommit commit = revWalk.parseCommit(revTag.getObject());
-
-                return new TagInfo(
-                        tagName,
-                        commit.getName(),
-                        revTag.getFullMessage(),
-                        revTag.getTaggerIdent().getName(),
-                        tagDate,
-                        true
-                );
-            } else if (revObject instanceof RevCommit revCommit) {
-                // Lightweight tag
-                LocalDateTime commitDate = LocalDateTime.ofInstant(
-                        Instant.ofEpochSecond(revCommit.getCommitTime()),
-                        ZoneId.systemDefault());
-
-                return new TagInfo(
-                        tagName,
-                        revCommit.getName(),
-                        null,
-                        revCommit.getAuthorIdent().getName(),
-                        commitDate,
-                        false
-                );
+        Map<ObjectId, TagSummary> tagSummaries = repositoryService.getTagSummaryCache()
+                .resolve(repository, tagIds);
+        Map<ObjectId, CommitSummary> commitSummaries = repositoryService.getCommitSummaryCache()
+                .resolve(repository, commitIds);
+
+        List<TagInfo> tags = new ArrayList<>(refs.size());
+        for (Ref ref : refs) {
+            String name = tagName(ref);
+            ObjectId objectId = ref.getObjectId();
+            TagSummary tag = objectId != null ? tagSummaries.get(objectId) : null;
+            CommitSummary commit = objectId != null ? commitSummaries.get(objectId) : null;
+
+            if (tag != null) {
+                tags.add(new TagInfo(name, tag.getTargetId(), tag.getMessage(), tag.getTaggerName(),
+                        tag.getTagDate(), true));
+            } else if (commit != null) {
+                tags.add(new TagInfo(name, commit.getCommitId(), null, commit.getAuthorName(),
+                        commit.getCommitDate(), false));
+            } else {
+                // Tags of trees or blobs, or of missing objects
+                ObjectId peeled = ref.getPeeledObjectId() != null ? ref.getPeeledObjectId() : objectId;
+                tags.add(new TagInfo(name, peeled != null ? peeled.getName() : null, null, null, null,
+                        ref.getPeeledObjectId() != null));
             }
         }
+        return tags;
+    }
 
-        return new TagInfo(tagName, objectId != null ? objectId.getName() : null, 
-                null, null, null, false);
+    private static String tagName(Ref ref) {
+        String tagName = ref.getName();
+        if (tagName.startsWith(REFS_TAGS_PREFIX)) {
+            tagName = tagName.substring(REFS_TAGS_PREFIX.length());
+        }
+        return tagName;
     }
 }
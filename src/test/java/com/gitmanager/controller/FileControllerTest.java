@@ -0,0 +1,132 @@
+package com.gitmanager.controller;
+
+import com.gitmanager.model.RawFile;
+import com.gitmanager.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FileController.class)
+class FileControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String OBJECT_ID = "8ab686eafeb1f44702738c8b0f24f2567c36da6d";
+    private static final String ETAG = "\"" + OBJECT_ID + "\"";
+    private static final String RAW_URL = "/api/repositories/test-repo/files/raw";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RawFile file = new RawFile("README.md", OBJECT_ID, CONTENT.length());
+        when(fileService.getRawFile("test-repo", "HEAD", "README.md")).thenReturn(file);
+        doAnswer(invocation -> {
+            int offset = Math.toIntExact(invocation.<Long>getArgument(2));
+            int length = Math.toIntExact(invocation.<Long>getArgument(3));
+            invocation.<OutputStream>getArgument(4)
+                    .write(CONTENT.getBytes(StandardCharsets.UTF_8), offset, length);
+            return null;
+        }).when(fileService).writeRawFile(eq("test-repo"), eq(file), anyLong(), anyLong(), any(OutputStream.class));
+    }
+
+    @Test
+    void getRawFile_shouldStreamWholeFileWithETag() throws Exception {
+        mockMvc.perform(stream(get(RAW_URL).param("path", "README.md")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void getRawFile_shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        mockMvc.perform(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getRawFile_shouldServeSingleRange() throws Exception {
+        mockMvc.perform(stream(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void getRawFile_shouldServeSuffixRange() throws Exception {
+        mockMvc.perform(stream(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.RANGE, "bytes=-4")))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 16-19/20"))
+                .andExpect(content().string("ghij"));
+    }
+
+    @Test
+    void getRawFile_shouldRejectRangeBeyondEndOfFile() throws Exception {
+        mockMvc.perform(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void getRawFile_shouldIgnoreRangeWhenIfRangeDoesNotMatch() throws Exception {
+        mockMvc.perform(stream(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"0000000000000000000000000000000000000000\"")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void getRawFile_shouldServeWholeFileForMultipleRanges() throws Exception {
+        mockMvc.perform(stream(get(RAW_URL).param("path", "README.md")
+                        .header(HttpHeaders.RANGE, "bytes=0-1,5-6")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    /**
+     * Runs a request whose body is streamed asynchronously and returns the dispatch that
+     * completes it.
+     */
+    private RequestBuilder stream(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return asyncDispatch(result);
+    }
+}
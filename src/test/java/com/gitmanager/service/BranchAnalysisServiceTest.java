@@ -0,0 +1,124 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.BranchAnalysis;
+import com.gitmanager.model.BranchAnalysis.AnalyzedBranch;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BranchAnalysisServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RepositoryService repositoryService;
+    private BranchAnalysisService branchAnalysisService;
+    private static final String TEST_REPO = "test-repo";
+
+    @BeforeEach
+    void setUp() {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+        config.getBranchAnalysis().setStaleAfter(Duration.ofDays(30));
+
+        SshService sshService = new SshService(new com.gitmanager.config.SshConfig());
+        repositoryService = new RepositoryService(config, sshService);
+        branchAnalysisService = new BranchAnalysisService(repositoryService, config);
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName(TEST_REPO);
+        repositoryService.createRepository(request);
+    }
+
+    @Test
+    void analyze_shouldReportMergedAndStaleBranches() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        PersonIdent old = new PersonIdent("Test", "test@example.com",
+                Instant.now().minus(Duration.ofDays(100)).toEpochMilli(), 0);
+
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("README.md"), "# Test Repository");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").setAuthor(old).setCommitter(old).call();
+            String main = git.getRepository().getBranch();
+
+            git.checkout().setCreateBranch(true).setName("abandoned").call();
+            Files.writeString(repoPath.resolve("abandoned.txt"), "old work");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Old work").setAuthor(old).setCommitter(old).call();
+
+            git.checkout().setName(main).call();
+            git.branchCreate().setName("merged-feature").call();
+            Files.writeString(repoPath.resolve("fresh.txt"), "new work");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Recent work").call();
+
+            git.checkout().setCreateBranch(true).setName("active").call();
+            Files.writeString(repoPath.resolve("active.txt"), "in progress");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Active work").call();
+            git.checkout().setName(main).call();
+        }
+
+        BranchAnalysis analysis = branchAnalysisService.analyze(TEST_REPO, null);
+
+        assertEquals(3, analysis.getTotalBranches());
+        assertEquals(1, analysis.getMergedCount());
+        assertEquals(2, analysis.getStaleCount());
+
+        List<AnalyzedBranch> branches = analysis.getBranches();
+        assertEquals(2, branches.size());
+        AnalyzedBranch abandoned = branches.stream()
+                .filter(b -> b.getName().equals("abandoned")).findFirst().orElseThrow();
+        assertFalse(abandoned.isMerged());
+        assertTrue(abandoned.isStale());
+        AnalyzedBranch merged = branches.stream()
+                .filter(b -> b.getName().equals("merged-feature")).findFirst().orElseThrow();
+        assertTrue(merged.isMerged());
+        assertTrue(merged.isStale());
+        assertTrue(branches.stream().noneMatch(b -> b.getName().equals("active")));
+        // The merged check walks on its own instead of filling the shared ahead/behind cache
+        assertEquals(0, repositoryService.getAheadBehindCache().getStats().getSize());
+
+        assertSame(analysis, branchAnalysisService.getAnalysis(TEST_REPO));
+    }
+
+    @Test
+    void getAnalysis_shouldNotServeResultsOfDeletedRepository() throws Exception {
+        commitReadme();
+        BranchAnalysis analysis = branchAnalysisService.getAnalysis(TEST_REPO);
+
+        repositoryService.deleteRepository(TEST_REPO);
+        RepositoryException exception = assertThrows(RepositoryException.class,
+                () -> branchAnalysisService.getAnalysis(TEST_REPO));
+        assertEquals(RepositoryException.ErrorCode.REPOSITORY_NOT_FOUND, exception.getErrorCode());
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName(TEST_REPO);
+        repositoryService.createRepository(request);
+        commitReadme();
+        assertNotSame(analysis, branchAnalysisService.getAnalysis(TEST_REPO));
+    }
+
+    private void commitReadme() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("README.md"), "# Test Repository");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+        }
+    }
+}
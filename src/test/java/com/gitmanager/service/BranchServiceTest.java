@@ -1,11 +1,21 @@
 package com.gitmanager.service;
 
 import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.dto.BranchQuery;
 import com.gitmanager.dto.CreateBranchRequest;
 import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.dto.MergeBranchRequest;
 import com.gitmanager.exception.RepositoryException;
 import com.gitmanager.model.BranchInfo;
+import com.gitmanager.model.MergeResult;
+import com.gitmanager.model.PagedResult;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -102,4 +112,288 @@ class BranchServiceTest {
         List<BranchInfo> branches = branchService.listBranches(TEST_REPO, false);
         assertFalse(branches.stream().anyMatch(b -> b.getName().equals("delete-branch")));
     }
+
+    @Test
+    void createBranch_shouldKeepBranchCountCurrent() {
+        repositoryService.refreshRepositoryStatistics(TEST_REPO);
+        long sizeBytes = repositoryService.getRepositoryInfo(TEST_REPO).getSizeBytes();
+
+        CreateBranchRequest request = new CreateBranchRequest();
+        request.setName("first");
+        branchService.createBranch(TEST_REPO, request);
+        request.setName("second");
+        branchService.createBranch(TEST_REPO, request);
+        branchService.deleteBranch(TEST_REPO, "first", true);
+
+        RepositoryException exception = assertThrows(RepositoryException.class,
+                () -> branchService.deleteBranch(TEST_REPO, "first", true));
+        assertEquals(RepositoryException.ErrorCode.BRANCH_NOT_FOUND, exception.getErrorCode());
+
+        assertEquals(2, repositoryService.getRepositoryInfo(TEST_REPO).getBranchCount());
+        // Ref writes don't walk the repository to measure it again
+        assertEquals(sizeBytes, repositoryService.getRepositoryInfo(TEST_REPO).getSizeBytes());
+
+        // Pending metadata is written on shutdown and read back after a restart
+        repositoryService.shutdown();
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+        repositoryService = new RepositoryService(config, new SshService(new com.gitmanager.config.SshConfig()));
+        assertEquals(2, repositoryService.getRepositoryInfo(TEST_REPO).getBranchCount());
+        repositoryService.shutdown();
+    }
+
+    @Test
+    void listBranches_shouldResolveTipsFromPackedRepositoryAndCacheThem() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(repoPath.resolve("file" + i + ".txt"), "content " + i);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Commit " + i).call();
+                git.branchCreate().setName("branch-" + i).call();
+            }
+            git.gc().call();
+        }
+
+        List<BranchInfo> branches = branchService.listBranches(TEST_REPO, false);
+
+        BranchInfo branch = branches.stream().filter(b -> b.getName().equals("branch-2")).findFirst().orElseThrow();
+        assertEquals("Commit 2", branch.getCommitMessage());
+        assertNotNull(branch.getCommitDate());
+
+        long misses = repositoryService.getCommitSummaryCache().getStats().getMisses();
+        branchService.listBranches(TEST_REPO, false);
+        assertEquals(misses, repositoryService.getCommitSummaryCache().getStats().getMisses());
+    }
+
+    @Test
+    void listBranches_shouldServeRefsFromSnapshotUntilBranchesChange() {
+        branchService.listBranches(TEST_REPO, false);
+        long hits = repositoryService.getRefSnapshotCacheStats().getHits();
+
+        branchService.listBranches(TEST_REPO, false);
+        assertEquals(hits + 1, repositoryService.getRefSnapshotCacheStats().getHits());
+
+        CreateBranchRequest request = new CreateBranchRequest();
+        request.setName("snapshot-branch");
+        branchService.createBranch(TEST_REPO, request);
+
+        List<BranchInfo> branches = branchService.listBranches(TEST_REPO, false);
+        assertTrue(branches.stream().anyMatch(b -> b.getName().equals("snapshot-branch")));
+    }
+
+    @Test
+    void listBranches_shouldReportAheadBehindAgainstBase() throws Exception {
+        String forkPoint = divergeFeatureFromBase();
+        String base = branchService.listBranches(TEST_REPO, false).stream()
+                .filter(BranchInfo::isCurrent).findFirst().orElseThrow().getName();
+
+        List<BranchInfo> branches = branchService.listBranches(TEST_REPO, false, base);
+
+        BranchInfo feature = branches.stream().filter(b -> b.getName().equals("feature")).findFirst().orElseThrow();
+        assertEquals(2, feature.getAhead());
+        assertEquals(3, feature.getBehind());
+        assertEquals(forkPoint, feature.getMergeBase());
+
+        BranchInfo stale = branches.stream().filter(b -> b.getName().equals("stale")).findFirst().orElseThrow();
+        assertEquals(0, stale.getAhead());
+        assertEquals(3, stale.getBehind());
+        assertEquals(forkPoint, stale.getMergeBase());
+
+        BranchInfo current = branches.stream().filter(b -> b.getName().equals(base)).findFirst().orElseThrow();
+        assertEquals(0, current.getAhead());
+        assertEquals(0, current.getBehind());
+        assertEquals(current.getCommitId(), current.getMergeBase());
+
+        long misses = repositoryService.getAheadBehindCache().getStats().getMisses();
+        branchService.listBranches(TEST_REPO, false, base);
+        assertEquals(misses, repositoryService.getAheadBehindCache().getStats().getMisses());
+    }
+
+    @Test
+    void listBranches_shouldReportAheadBehindFromCommitGraph() throws Exception {
+        String forkPoint = divergeFeatureFromBase();
+        try (Git git = Git.open(tempDir.resolve(TEST_REPO).toFile())) {
+            repositoryService.configureHistoryIndexes(git.getRepository());
+            git.gc().call();
+        }
+        try (Repository repository = Git.open(tempDir.resolve(TEST_REPO).toFile()).getRepository();
+             ObjectReader reader = repository.newObjectReader()) {
+            assertTrue(reader.getCommitGraph().isPresent());
+        }
+        String base = branchService.listBranches(TEST_REPO, false).stream()
+                .filter(BranchInfo::isCurrent).findFirst().orElseThrow().getName();
+
+        BranchInfo feature = branchService.listBranches(TEST_REPO, false, base).stream()
+                .filter(b -> b.getName().equals("feature")).findFirst().orElseThrow();
+        assertEquals(2, feature.getAhead());
+        assertEquals(3, feature.getBehind());
+        assertEquals(forkPoint, feature.getMergeBase());
+    }
+
+    /**
+     * Forks "stale" and "feature" from the current branch, then commits twice on
+     * "feature" and three times on the current branch. Returns the fork point.
+     */
+    private String divergeFeatureFromBase() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            String base = git.getRepository().getBranch();
+            String forkPoint = git.getRepository().resolve("HEAD").getName();
+            git.branchCreate().setName("stale").call();
+
+            git.checkout().setCreateBranch(true).setName("feature").call();
+            for (int i = 0; i < 2; i++) {
+                Files.writeString(repoPath.resolve("feature" + i + ".txt"), "feature " + i);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Feature " + i).call();
+            }
+
+            git.checkout().setName(base).call();
+            for (int i = 0; i < 3; i++) {
+                Files.writeString(repoPath.resolve("main" + i + ".txt"), "main " + i);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Main " + i).call();
+            }
+            return forkPoint;
+        }
+    }
+
+    @Test
+    void checkMerge_shouldReportConflictsWithoutWritingAnything() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            String base = git.getRepository().getBranch();
+
+            git.checkout().setCreateBranch(true).setName("conflicting").call();
+            Files.writeString(repoPath.resolve("README.md"), "# Changed on branch");
+            git.commit().setAll(true).setMessage("Branch change").call();
+
+            git.checkout().setName(base).setCreateBranch(false).call();
+            git.checkout().setCreateBranch(true).setName("clean").call();
+            Files.writeString(repoPath.resolve("other.txt"), "other");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Unrelated change").call();
+
+            git.checkout().setName(base).call();
+            Files.writeString(repoPath.resolve("README.md"), "# Changed on base");
+            git.commit().setAll(true).setMessage("Base change").call();
+        }
+        long objectsBefore;
+        try (var files = Files.walk(repoPath.resolve(".git/objects"))) {
+            objectsBefore = files.count();
+        }
+
+        MergeBranchRequest request = new MergeBranchRequest();
+        request.setSourceBranch("conflicting");
+        MergeResult conflicting = branchService.checkMerge(TEST_REPO, request);
+
+        assertFalse(conflicting.isSuccessful());
+        assertEquals(MergeResult.MergeStatus.CONFLICTING, conflicting.getStatus());
+        assertEquals(List.of("README.md"), conflicting.getConflicts());
+
+        request.setSourceBranch("clean");
+        MergeResult clean = branchService.checkMerge(TEST_REPO, request);
+
+        assertTrue(clean.isSuccessful());
+        assertEquals(MergeResult.MergeStatus.MERGED, clean.getStatus());
+
+        try (var files = Files.walk(repoPath.resolve(".git/objects"))) {
+            assertEquals(objectsBefore, files.count());
+        }
+        assertEquals("# Changed on base", Files.readString(repoPath.resolve("README.md")));
+
+        long misses = repositoryService.getMergeCheckCache().getStats().getMisses();
+        branchService.checkMerge(TEST_REPO, request);
+        assertEquals(misses, repositoryService.getMergeCheckCache().getStats().getMisses());
+    }
+
+    @Test
+    void mergeBranch_shouldMergeInBareRepositoryWithoutWorkTree() throws Exception {
+        Path sourcePath = tempDir.resolve(TEST_REPO);
+        String base;
+        try (Git git = Git.open(sourcePath.toFile())) {
+            base = git.getRepository().getBranch();
+            git.checkout().setCreateBranch(true).setName("feature").call();
+            Files.writeString(sourcePath.resolve("feature.txt"), "feature");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Feature change").call();
+
+            git.checkout().setName(base).call();
+            Files.writeString(sourcePath.resolve("main.txt"), "main");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Main change").call();
+        }
+
+        CreateRepositoryRequest bareRequest = new CreateRepositoryRequest();
+        bareRequest.setName("bare-repo");
+        bareRequest.setBare(true);
+        repositoryService.createRepository(bareRequest);
+        try (Git git = Git.open(sourcePath.toFile())) {
+            git.push().setRemote(tempDir.resolve("bare-repo").toUri().toString())
+                    .add(base).add("feature").call();
+        }
+
+        MergeBranchRequest request = new MergeBranchRequest();
+        request.setSourceBranch("feature");
+        request.setTargetBranch(base);
+        MergeResult result = branchService.mergeBranch("bare-repo", request);
+
+        assertTrue(result.isSuccessful());
+        assertEquals(MergeResult.MergeStatus.MERGED, result.getStatus());
+        try (Repository repository = repositoryService.openRepository("bare-repo");
+             RevWalk walk = new RevWalk(repository)) {
+            RevCommit merge = walk.parseCommit(repository.resolve(base));
+            assertEquals(result.getMergedCommitId(), merge.getName());
+            assertEquals(2, merge.getParentCount());
+            assertNotNull(TreeWalk.forPath(repository, "feature.txt", merge.getTree()));
+            assertNotNull(TreeWalk.forPath(repository, "main.txt", merge.getTree()));
+        }
+
+        BranchInfo checkedOut = branchService.checkoutBranch("bare-repo", "feature");
+        assertEquals("feature", checkedOut.getName());
+        assertTrue(branchService.listBranches("bare-repo", false).stream()
+                .anyMatch(b -> b.getName().equals("feature") && b.isCurrent()));
+    }
+
+    @Test
+    void listBranches_shouldPageMostRecentlyUpdatedBranches() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            PersonIdent ident = new PersonIdent("Test", "test@example.com");
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(repoPath.resolve("file" + i + ".txt"), "content " + i);
+                git.add().addFilepattern(".").call();
+                PersonIdent dated = new PersonIdent(ident, (1_700_000_000L + i * 60L) * 1000, 0);
+                git.commit().setMessage("Commit " + i).setAuthor(dated).setCommitter(dated).call();
+                git.branchCreate().setName("feature/branch-" + i).call();
+            }
+            git.branchCreate().setName("release-1").call();
+        }
+
+        BranchQuery query = new BranchQuery();
+        query.setFilter("feature/*");
+        query.setSort("committerdate");
+        query.setLimit(2);
+        PagedResult<BranchInfo> first = branchService.listBranches(TEST_REPO, query);
+
+        assertEquals(List.of("feature/branch-4", "feature/branch-3"),
+                first.getItems().stream().map(BranchInfo::getName).toList());
+        assertNotNull(first.getNextCursor());
+
+        query.setCursor(first.getNextCursor());
+        PagedResult<BranchInfo> second = branchService.listBranches(TEST_REPO, query);
+        assertEquals(List.of("feature/branch-2", "feature/branch-1"),
+                second.getItems().stream().map(BranchInfo::getName).toList());
+
+        query.setCursor(second.getNextCursor());
+        PagedResult<BranchInfo> last = branchService.listBranches(TEST_REPO, query);
+        assertEquals(List.of("feature/branch-0"), last.getItems().stream().map(BranchInfo::getName).toList());
+        assertNull(last.getNextCursor());
+
+        BranchQuery prefix = new BranchQuery();
+        prefix.setFilter("rel");
+        assertEquals(List.of("release-1"),
+                branchService.listBranches(TEST_REPO, prefix).getItems().stream().map(BranchInfo::getName).toList());
+    }
 }
@@ -0,0 +1,113 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.config.MaintenanceConfig;
+import com.gitmanager.dto.CloneRepositoryRequest;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.CloneJob;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CloneJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RepositoryService repositoryService;
+    private MaintenanceService maintenanceService;
+    private CloneJobService cloneJobService;
+    private String sourceUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.resolve("repos").toString());
+
+        SshService sshService = new SshService(new com.gitmanager.config.SshConfig());
+        repositoryService = new RepositoryService(config, sshService);
+        maintenanceService = new MaintenanceService(repositoryService, new MaintenanceConfig());
+        cloneJobService = new CloneJobService(repositoryService, maintenanceService, config);
+
+        // Create a source repository to clone from
+        Path sourcePath = tempDir.resolve("source");
+        try (Git git = Git.init().setDirectory(sourcePath.toFile()).call()) {
+            Files.writeString(sourcePath.resolve("README.md"), "# Source Repository");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+        }
+        sourceUrl = sourcePath.toUri().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cloneJobService.shutdown();
+        maintenanceService.shutdown();
+    }
+
+    @Test
+    void submit_shouldCloneRepositoryInBackground() throws Exception {
+        CloneRepositoryRequest request = new CloneRepositoryRequest();
+        request.setName("cloned-repo");
+        request.setUrl(sourceUrl);
+
+        CloneJob job = cloneJobService.submit(request);
+        assertNotNull(job.getId());
+
+        CloneJob finished = awaitCompletion(job.getId());
+
+        assertEquals(CloneJob.JobStatus.COMPLETED, finished.getStatus());
+        assertEquals("cloned-repo", repositoryService.getRepositoryInfo("cloned-repo").getName());
+        assertTrue(maintenanceService.getStats("cloned-repo").isCommitGraph());
+    }
+
+    @Test
+    void submit_shouldReportFailureForInvalidUrl() throws Exception {
+        CloneRepositoryRequest request = new CloneRepositoryRequest();
+        request.setName("broken-repo");
+        request.setUrl(tempDir.resolve("missing").toUri().toString());
+
+        CloneJob finished = awaitCompletion(cloneJobService.submit(request).getId());
+
+        assertEquals(CloneJob.JobStatus.FAILED, finished.getStatus());
+        assertNotNull(finished.getMessage());
+    }
+
+    @Test
+    void submit_shouldRejectDepthCombinedWithShallowSince() {
+        CloneRepositoryRequest request = new CloneRepositoryRequest();
+        request.setName("shallow-repo");
+        request.setUrl(sourceUrl);
+        request.setDepth(1);
+        request.setShallowSince(OffsetDateTime.now().minusDays(1));
+
+        RepositoryException exception = assertThrows(RepositoryException.class,
+                () -> cloneJobService.submit(request));
+        assertEquals(RepositoryException.ErrorCode.INVALID_OPERATION, exception.getErrorCode());
+        assertFalse(Files.exists(tempDir.resolve("repos").resolve("shallow-repo")));
+    }
+
+    @Test
+    void getJob_shouldThrowExceptionForUnknownJob() {
+        RepositoryException exception = assertThrows(RepositoryException.class,
+                () -> cloneJobService.getJob("unknown"));
+        assertEquals(RepositoryException.ErrorCode.CLONE_JOB_NOT_FOUND, exception.getErrorCode());
+    }
+
+    private CloneJob awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        CloneJob job = cloneJobService.getJob(jobId);
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        return job;
+    }
+}
@@ -2,16 +2,26 @@ package com.gitmanager.service;
 
 import com.gitmanager.config.GitRepositoryConfig;
 import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.dto.FileTreeQuery;
 import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.CacheStats;
 import com.gitmanager.model.FileContent;
 import com.gitmanager.model.FileTreeNode;
+import com.gitmanager.model.PagedResult;
+import com.gitmanager.model.RawFile;
 import org.eclipse.jgit.api.Git;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -74,6 +84,183 @@ class FileServiceTest {
         assertTrue(hasSrcDir, "Should have src directory");
     }
 
+    @Test
+    void listTree_shouldStopAtDepthAndPageThroughEntries() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("src/main/java/Util.java"), "class Util {}");
+            Files.writeString(repoPath.resolve("src/build.gradle"), "");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Add files").call();
+        }
+
+        FileTreeQuery query = new FileTreeQuery();
+        query.setPath("src");
+        query.setDepth(1);
+        PagedResult<FileTreeNode> shallow = fileService.listTree(TEST_REPO, query);
+        assertEquals(List.of("src/build.gradle", "src/main"),
+                shallow.getItems().stream().map(FileTreeNode::getPath).toList());
+        assertTrue(shallow.getItems().get(1).getChildren().isEmpty());
+        assertNull(shallow.getNextCursor());
+
+        query.setDepth(null);
+        query.setLimit(2);
+        List<String> paths = new ArrayList<>();
+        do {
+            PagedResult<FileTreeNode> page = fileService.listTree(TEST_REPO, query);
+            collectPaths(page.getItems(), paths);
+            query.setCursor(page.getNextCursor());
+        } while (query.getCursor() != null);
+
+        assertEquals(List.of("src/build.gradle", "src/main", "src/main/java",
+                "src/main/java/App.java", "src/main/java/Util.java"), paths);
+    }
+
+    @Test
+    void listTree_shouldServeRepeatedListingsFromTreeCache() throws Exception {
+        FileTreeQuery query = new FileTreeQuery();
+        fileService.listTree(TEST_REPO, query);
+        CacheStats first = repositoryService.getTreeListingCache().getStats();
+
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("README.md"), "# Changed");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Change readme").call();
+        }
+        PagedResult<FileTreeNode> page = fileService.listTree(TEST_REPO, query);
+        CacheStats second = repositoryService.getTreeListingCache().getStats();
+
+        assertEquals(2, page.getItems().size());
+        // Only the new root tree is read; the unchanged src subtrees are shared
+        assertEquals(first.getMisses() + 1, second.getMisses());
+        assertTrue(second.getHits() >= 3);
+        assertTrue(second.getSize() > 0);
+    }
+
+    @Test
+    void listTree_shouldReportSizesModesAndObjectIds() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.createSymbolicLink(repoPath.resolve("link"), Path.of("README.md"));
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Add link").call();
+        }
+
+        PagedResult<FileTreeNode> page = fileService.listTree(TEST_REPO, new FileTreeQuery());
+
+        FileTreeNode readme = page.getItems().stream()
+                .filter(node -> node.getName().equals("README.md")).findFirst().orElseThrow();
+        assertEquals(FileTreeNode.FileType.FILE, readme.getType());
+        assertEquals("# Test Repository".length(), readme.getSize());
+        assertEquals("100644", readme.getMode());
+        assertEquals(40, readme.getObjectId().length());
+
+        FileTreeNode link = page.getItems().stream()
+                .filter(node -> node.getName().equals("link")).findFirst().orElseThrow();
+        assertEquals(FileTreeNode.FileType.SYMLINK, link.getType());
+        assertEquals("120000", link.getMode());
+        assertEquals("README.md".length(), link.getSize());
+
+        FileTreeNode src = page.getItems().stream()
+                .filter(node -> node.getName().equals("src")).findFirst().orElseThrow();
+        assertEquals("040000", src.getMode());
+    }
+
+    @Test
+    void writeRawFile_shouldStreamRequestedRangeOfBlob() throws Exception {
+        RawFile file = fileService.getRawFile(TEST_REPO, "HEAD", "src/main/java/App.java");
+        assertEquals("public class App {}".length(), file.getSize());
+        assertEquals(40, file.getObjectId().length());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        fileService.writeRawFile(TEST_REPO, file, 7, 5, out);
+        assertEquals("class", out.toString(StandardCharsets.UTF_8));
+
+        assertThrows(RepositoryException.class, () -> fileService.getRawFile(TEST_REPO, "HEAD", "src"));
+    }
+
+    @Test
+    void getFileContent_shouldServeRepeatedReadsFromBlobCache() throws Exception {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+        config.getCache().setBlobs(DataSize.ofKilobytes(64));
+        RepositoryService cachingService = new RepositoryService(config,
+                new SshService(new com.gitmanager.config.SshConfig()));
+        FileService cachingFileService = new FileService(cachingService);
+        try {
+            FileContent first = cachingFileService.getFileContent(TEST_REPO, "HEAD", "README.md");
+            FileContent second = cachingFileService.getFileContent(TEST_REPO, "HEAD", "README.md");
+            CacheStats stats = cachingService.getBlobCache().getStats();
+
+            assertEquals(first.getContent(), second.getContent());
+            assertEquals("# Test Repository".length(), second.getSize());
+            assertEquals(1, stats.getMisses());
+            assertEquals(1, stats.getHits());
+
+            RawFile file = cachingFileService.getRawFile(TEST_REPO, "HEAD", "README.md");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            cachingFileService.writeRawFile(TEST_REPO, file, 2, 4, out);
+            assertEquals("Test", out.toString(StandardCharsets.UTF_8));
+            assertEquals(2, cachingService.getBlobCache().getStats().getHits());
+
+            // A range spanning several cache blocks is copied out block by block
+            Path repoPath = tempDir.resolve(TEST_REPO);
+            String large = "0123456789".repeat(1000);
+            try (Git git = Git.open(repoPath.toFile())) {
+                Files.writeString(repoPath.resolve("large.txt"), large);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Add large file").call();
+            }
+            RawFile largeFile = cachingFileService.getRawFile(TEST_REPO, "HEAD", "large.txt");
+            cachingFileService.writeRawFile(TEST_REPO, largeFile, 0, large.length(), new ByteArrayOutputStream());
+            out = new ByteArrayOutputStream();
+            cachingFileService.writeRawFile(TEST_REPO, largeFile, 4000, 5000, out);
+            assertEquals(large.substring(4000, 9000), out.toString(StandardCharsets.UTF_8));
+            assertEquals(3, cachingService.getBlobCache().getStats().getHits());
+        } finally {
+            cachingService.shutdown();
+        }
+    }
+
+    @Test
+    void getFileContent_shouldNotInlineLargeFileServedFromBlobCache() throws Exception {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+        config.getCache().setBlobs(DataSize.ofMegabytes(16));
+        config.getCache().setBlobMaxSize(DataSize.ofMegabytes(16));
+        RepositoryService cachingService = new RepositoryService(config,
+                new SshService(new com.gitmanager.config.SshConfig()));
+        FileService cachingFileService = new FileService(cachingService);
+        try {
+            Path repoPath = tempDir.resolve(TEST_REPO);
+            String large = "a".repeat(11 * 1024 * 1024);
+            try (Git git = Git.open(repoPath.toFile())) {
+                Files.writeString(repoPath.resolve("large.txt"), large);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Add large file").call();
+            }
+
+            // A raw download puts the blob in the cache
+            RawFile file = cachingFileService.getRawFile(TEST_REPO, "HEAD", "large.txt");
+            cachingFileService.writeRawFile(TEST_REPO, file, 0, file.getSize(), OutputStream.nullOutputStream());
+
+            FileContent content = cachingFileService.getFileContent(TEST_REPO, "HEAD", "large.txt");
+            assertEquals(1, cachingService.getBlobCache().getStats().getHits());
+            assertNull(content.getContent());
+            assertEquals(large.length(), content.getSize());
+        } finally {
+            cachingService.shutdown();
+        }
+    }
+
+    private static void collectPaths(List<FileTreeNode> nodes, List<String> paths) {
+        for (FileTreeNode node : nodes) {
+            paths.add(node.getPath());
+            collectPaths(node.getChildren(), paths);
+        }
+    }
+
     @Test
     void getFileContent_shouldReturnFileContents() {
         FileContent content = fileService.getFileContent(TEST_REPO, "HEAD", "README.md");
@@ -0,0 +1,192 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.config.MaintenanceConfig;
+import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.MaintenanceStats;
+import com.gitmanager.model.RepositoryInfo;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.ObjectWalk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaintenanceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MaintenanceConfig maintenanceConfig;
+    private MaintenanceService maintenanceService;
+    private static final String TEST_REPO = "test-repo";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+
+        SshService sshService = new SshService(new com.gitmanager.config.SshConfig());
+        RepositoryService repositoryService = new RepositoryService(config, sshService);
+        maintenanceConfig = new MaintenanceConfig();
+        maintenanceService = new MaintenanceService(repositoryService, maintenanceConfig);
+
+        // Create a test repository with a few commits worth of loose objects
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName(TEST_REPO);
+        repositoryService.createRepository(request);
+
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            for (int i = 0; i < 3; i++) {
+                Files.writeString(repoPath.resolve("file" + i + ".txt"), "content " + i);
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("Commit " + i).call();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        maintenanceService.shutdown();
+    }
+
+    @Test
+    void maintain_shouldSkipRepositoryBelowThresholds() {
+        MaintenanceStats first = maintenanceService.maintain(TEST_REPO, true);
+        LocalDateTime lastRunAt = first.getLastRunAt();
+
+        MaintenanceStats stats = maintenanceService.maintain(TEST_REPO, false);
+
+        assertEquals(MaintenanceStats.MaintenanceStatus.SUCCEEDED, stats.getStatus());
+        assertEquals(lastRunAt, stats.getLastRunAt());
+    }
+
+    @Test
+    void maintain_shouldWriteCommitGraphAndBitmaps() {
+        MaintenanceStats stats = maintenanceService.maintain(TEST_REPO, false);
+
+        assertEquals(MaintenanceStats.MaintenanceStatus.SUCCEEDED, stats.getStatus());
+        assertTrue(stats.isCommitGraph());
+        assertTrue(stats.getBitmaps() > 0);
+    }
+
+    @Test
+    void maintain_shouldPackLooseObjectsAboveThreshold() {
+        maintenanceConfig.getDefaults().setLooseObjectThreshold(1);
+
+        MaintenanceStats stats = maintenanceService.maintain(TEST_REPO, false);
+
+        assertEquals(MaintenanceStats.MaintenanceStatus.SUCCEEDED, stats.getStatus());
+        assertTrue(stats.getLooseObjectsBefore() > 0);
+        assertEquals(0, stats.getLooseObjectsAfter());
+        assertEquals(1, stats.getPackFilesAfter());
+        assertSame(stats, maintenanceService.getStats(TEST_REPO));
+    }
+
+    @Test
+    void maintain_shouldHonourPerRepositoryPolicy() {
+        maintenanceConfig.getDefaults().setLooseObjectThreshold(1);
+        MaintenanceConfig.Policy policy = new MaintenanceConfig.Policy();
+        policy.setEnabled(false);
+        maintenanceConfig.getRepositories().put(TEST_REPO, policy);
+
+        MaintenanceStats stats = maintenanceService.maintain(TEST_REPO, false);
+
+        assertEquals(MaintenanceStats.MaintenanceStatus.SKIPPED, stats.getStatus());
+    }
+
+    @Test
+    void maintain_shouldNotRunWhileRepositoryIsMoved() throws Exception {
+        Path firstRoot = tempDir.resolve("disk1");
+        Path secondRoot = tempDir.resolve("disk2");
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+        config.getStorage().setPlacement(GitRepositoryConfig.Storage.Placement.EXPLICIT);
+        config.getStorage().getRoots().add(firstRoot.toString());
+        config.getStorage().getRoots().add(secondRoot.toString());
+        RepositoryService repositoryService = new RepositoryService(config,
+                new SshService(new com.gitmanager.config.SshConfig()));
+        MaintenanceService movingMaintenance = new MaintenanceService(repositoryService, new MaintenanceConfig());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CreateRepositoryRequest request = new CreateRepositoryRequest();
+            request.setName("busy-repo");
+            request.setStorageRoot(firstRoot.toString());
+            repositoryService.createRepository(request);
+            Path repoPath = firstRoot.resolve("busy-repo");
+            try (Git git = Git.open(repoPath.toFile())) {
+                for (int i = 0; i < 50; i++) {
+                    Files.writeString(repoPath.resolve("file" + i + ".txt"), "content " + i);
+                    git.add().addFilepattern(".").call();
+                    git.commit().setMessage("Commit " + i).call();
+                }
+            }
+
+            // Whichever operation holds the object store turns the other away
+            assertTrue(repositoryService.claimObjectStore("busy-repo"));
+            RepositoryException rejected = assertThrows(RepositoryException.class,
+                    () -> repositoryService.moveRepository("busy-repo", secondRoot.toString()));
+            assertEquals(RepositoryException.ErrorCode.INVALID_OPERATION, rejected.getErrorCode());
+            assertThrows(RepositoryException.class, () -> movingMaintenance.maintain("busy-repo", true));
+            assertEquals(MaintenanceStats.MaintenanceStatus.SKIPPED,
+                    movingMaintenance.maintain("busy-repo", false).getStatus());
+            repositoryService.releaseObjectStore("busy-repo");
+
+            // GC racing the move either finishes before it or is turned away, so the copy
+            // switched in is complete
+            Future<?> gc = executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        movingMaintenance.maintain("busy-repo", true);
+                    } catch (RepositoryException e) {
+                        // Moving
+                    }
+                }
+            });
+            RepositoryInfo moved = null;
+            while (moved == null) {
+                try {
+                    moved = repositoryService.moveRepository("busy-repo", secondRoot.toString());
+                } catch (RepositoryException e) {
+                    assertEquals(RepositoryException.ErrorCode.INVALID_OPERATION, e.getErrorCode());
+                }
+            }
+            gc.get();
+
+            assertTrue(moved.getPath().startsWith(secondRoot.toAbsolutePath().normalize().toString()));
+            try (Repository repository = repositoryService.openRepository("busy-repo");
+                 ObjectWalk walk = new ObjectWalk(repository)) {
+                walk.markStart(walk.parseCommit(repository.resolve(Constants.HEAD)));
+                walk.checkConnectivity();
+            }
+        } finally {
+            executor.shutdownNow();
+            movingMaintenance.shutdown();
+            repositoryService.shutdown();
+        }
+    }
+
+    @Test
+    void isWithinQuietHours_shouldHandleWindowAcrossMidnight() {
+        maintenanceConfig.setQuietHoursStart(LocalTime.of(22, 0));
+        maintenanceConfig.setQuietHoursEnd(LocalTime.of(4, 0));
+
+        assertTrue(maintenanceConfig.isWithinQuietHours(LocalTime.of(23, 30)));
+        assertTrue(maintenanceConfig.isWithinQuietHours(LocalTime.of(3, 0)));
+        assertFalse(maintenanceConfig.isWithinQuietHours(LocalTime.of(12, 0)));
+    }
+}
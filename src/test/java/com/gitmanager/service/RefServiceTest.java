@@ -0,0 +1,102 @@
+package com.gitmanager.service;
+
+import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.dto.CreateRepositoryRequest;
+import com.gitmanager.dto.RefBatchRequest;
+import com.gitmanager.dto.RefCommandRequest;
+import com.gitmanager.model.RefBatchResult;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RepositoryService repositoryService;
+    private RefService refService;
+    private static final String TEST_REPO = "test-repo";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GitRepositoryConfig config = new GitRepositoryConfig();
+        config.setBasePath(tempDir.toString());
+
+        SshService sshService = new SshService(new com.gitmanager.config.SshConfig());
+        repositoryService = new RepositoryService(config, sshService);
+        refService = new RefService(repositoryService);
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName(TEST_REPO);
+        repositoryService.createRepository(request);
+
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("README.md"), "# Test Repository");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+            git.branchCreate().setName("old-release").call();
+        }
+    }
+
+    @Test
+    void applyBatch_shouldCreateAndDeleteBranchesAndTagsTogether() throws Exception {
+        RefBatchRequest request = new RefBatchRequest();
+        for (int i = 0; i < 50; i++) {
+            request.getCommands().add(command("refs/heads/release/" + i, RefCommandRequest.Type.CREATE, "HEAD"));
+            request.getCommands().add(command("refs/tags/v" + i, RefCommandRequest.Type.CREATE, "HEAD"));
+        }
+        request.getCommands().add(command("refs/heads/old-release", RefCommandRequest.Type.DELETE, null));
+
+        RefBatchResult result = refService.applyBatch(TEST_REPO, request);
+
+        assertTrue(result.isSuccessful());
+        assertTrue(result.isAtomic());
+        assertEquals(101, result.getResults().size());
+        assertTrue(result.getResults().stream().allMatch(r -> r.getStatus().equals("OK")));
+        try (Repository repository = repositoryService.openRepository(TEST_REPO)) {
+            assertNotNull(repository.exactRef("refs/heads/release/49"));
+            assertNotNull(repository.exactRef("refs/tags/v0"));
+            assertNull(repository.exactRef("refs/heads/old-release"));
+        }
+    }
+
+    @Test
+    void applyBatch_shouldApplyNothingWhenAnAtomicCommandIsRejected() throws Exception {
+        RefBatchRequest request = new RefBatchRequest();
+        request.getCommands().add(command("refs/heads/new-branch", RefCommandRequest.Type.CREATE, "HEAD"));
+        request.getCommands().add(command("refs/heads/old-release", RefCommandRequest.Type.CREATE, "HEAD"));
+
+        RefBatchResult result = refService.applyBatch(TEST_REPO, request);
+
+        assertFalse(result.isSuccessful());
+        assertEquals("REJECTED_OTHER_REASON", result.getResults().get(1).getStatus());
+        assertEquals("Ref already exists", result.getResults().get(1).getMessage());
+        assertNotEquals("OK", result.getResults().get(0).getStatus());
+        try (Repository repository = repositoryService.openRepository(TEST_REPO)) {
+            assertNull(repository.exactRef("refs/heads/new-branch"));
+        }
+
+        request.setAtomic(false);
+        RefBatchResult partial = refService.applyBatch(TEST_REPO, request);
+
+        assertEquals("OK", partial.getResults().get(0).getStatus());
+        assertEquals("REJECTED_OTHER_REASON", partial.getResults().get(1).getStatus());
+    }
+
+    private static RefCommandRequest command(String ref, RefCommandRequest.Type type, String newRevision) {
+        RefCommandRequest command = new RefCommandRequest();
+        command.setRef(ref);
+        command.setType(type);
+        command.setNewRevision(newRevision);
+        return command;
+    }
+}
@@ -1,15 +1,39 @@
 package com.gitmanager.service;
 
 import com.gitmanager.config.GitRepositoryConfig;
+import com.gitmanager.dto.CloneRepositoryRequest;
 import com.gitmanager.dto.CreateRepositoryRequest;
 import com.gitmanager.exception.RepositoryException;
+import com.gitmanager.model.CacheStats;
+import com.gitmanager.model.LockStats;
 import com.gitmanager.model.RepositoryInfo;
+import com.gitmanager.model.TrashEntry;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +55,11 @@ class RepositoryServiceTest {
         repositoryService = new RepositoryService(config, sshService);
     }
 
+    @AfterEach
+    void tearDown() {
+        repositoryService.shutdown();
+    }
+
     @Test
     void createRepository_shouldCreateNewRepository() {
         CreateRepositoryRequest request = new CreateRepositoryRequest();
@@ -123,4 +152,347 @@ class RepositoryServiceTest {
                 () -> repositoryService.deleteRepository("non-existent"));
         assertEquals(RepositoryException.ErrorCode.REPOSITORY_NOT_FOUND, exception.getErrorCode());
     }
+
+    @Test
+    void openRepository_shouldReuseCachedHandle() {
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("cached-repo");
+        repositoryService.createRepository(request);
+
+        Repository first;
+        try (Repository repository = repositoryService.openRepository("cached-repo")) {
+            first = repository;
+        }
+        try (Repository repository = repositoryService.openRepository("cached-repo")) {
+            assertSame(first, repository);
+        }
+
+        CacheStats stats = repositoryService.getRepositoryCacheStats();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void deleteRepository_shouldInvalidateCachedHandle() {
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("evicted-repo");
+        repositoryService.createRepository(request);
+        repositoryService.openRepository("evicted-repo").close();
+
+        repositoryService.deleteRepository("evicted-repo");
+
+        CacheStats stats = repositoryService.getRepositoryCacheStats();
+        assertEquals(0, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    void getRepositoryInfo_shouldFindRepositoryCreatedOutsideTheService() throws Exception {
+        Git.init().setDirectory(tempDir.resolve("external-repo").toFile()).call().close();
+
+        RepositoryInfo result = repositoryService.getRepositoryInfo("external-repo");
+
+        assertEquals("external-repo", result.getName());
+        assertTrue(repositoryService.listRepositories().stream()
+                .anyMatch(repo -> repo.getName().equals("external-repo")));
+    }
+
+    @Test
+    void cloneRepository_shouldCreateShallowSingleBranchClone() throws Exception {
+        Path sourcePath = tempDir.resolve("source");
+        try (Git git = Git.init().setDirectory(sourcePath.toFile()).setInitialBranch("main").call()) {
+            Files.writeString(sourcePath.resolve("README.md"), "first");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("First commit").call();
+            Files.writeString(sourcePath.resolve("README.md"), "second");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Second commit").call();
+            git.branchCreate().setName("feature").call();
+            git.tag().setName("v1.0").call();
+        }
+
+        CloneRepositoryRequest request = new CloneRepositoryRequest();
+        request.setName("shallow-repo");
+        request.setUrl(sourcePath.toUri().toString());
+        request.setDepth(1);
+        request.setSingleBranch(true);
+        request.setNoTags(true);
+
+        RepositoryInfo result = repositoryService.cloneRepository(request);
+
+        assertTrue(result.isShallow());
+        try (Repository repository = repositoryService.openRepository("shallow-repo")) {
+            assertNotNull(repository.exactRef("refs/remotes/origin/main"));
+            assertNull(repository.exactRef("refs/remotes/origin/feature"));
+            assertTrue(repository.getRefDatabase().getRefsByPrefix("refs/tags/").isEmpty());
+        }
+    }
+
+    @Test
+    void deleteRepository_shouldFreeNameAndReclaimInBackground() throws Exception {
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("trashed-repo");
+        repositoryService.createRepository(request);
+
+        repositoryService.deleteRepository("trashed-repo");
+        RepositoryInfo recreated = repositoryService.createRepository(request);
+        assertEquals("trashed-repo", recreated.getName());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline && repositoryService.getTrashEntries().stream()
+                .anyMatch(entry -> entry.getFinishedAt() == null)) {
+            Thread.sleep(20);
+        }
+
+        List<TrashEntry> entries = repositoryService.getTrashEntries();
+        assertEquals(1, entries.size());
+        assertEquals(TrashEntry.ReclaimStatus.RECLAIMED, entries.get(0).getStatus());
+        assertTrue(entries.get(0).getFilesDeleted() > 0);
+        assertFalse(Files.exists(Path.of(entries.get(0).getTrashPath())));
+    }
+
+    @Test
+    void getRepositoryInfo_shouldServePersistedMetadata() throws Exception {
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("metadata-repo");
+        request.setDescription("Tracked repository");
+        RepositoryInfo created = repositoryService.createRepository(request);
+
+        Path repoPath = tempDir.resolve("metadata-repo");
+        try (Git git = Git.open(repoPath.toFile())) {
+            Files.writeString(repoPath.resolve("README.md"), "content");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+            git.tag().setName("v1.0").call();
+        }
+        // Written outside the service, so the counts have to be taken again
+        repositoryService.refreshRepositoryStatistics("metadata-repo");
+
+        // A new service instance reads the stored metadata instead of deriving it again
+        repositoryService.shutdown();
+        repositoryService = new RepositoryService(config, sshService);
+        RepositoryInfo result = repositoryService.getRepositoryInfo("metadata-repo");
+
+        assertEquals("Tracked repository", result.getDescription());
+        assertEquals(created.getCreatedAt(), result.getCreatedAt());
+        assertFalse(result.getLastModified().isBefore(result.getCreatedAt()));
+        assertEquals("master", result.getDefaultBranch());
+        assertEquals(1, result.getBranchCount());
+        assertEquals(1, result.getTagCount());
+        assertTrue(result.getSizeBytes() > 0);
+    }
+
+    @Test
+    void createRepository_shouldPlaceOnLeastUsedStorageRoot() {
+        Path firstRoot = tempDir.resolve("disk1");
+        Path secondRoot = tempDir.resolve("disk2");
+        useStorageRoots(GitRepositoryConfig.Storage.Placement.LEAST_USED, firstRoot, secondRoot);
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("first-repo");
+        RepositoryInfo first = repositoryService.createRepository(request);
+        request.setName("second-repo");
+        RepositoryInfo second = repositoryService.createRepository(request);
+
+        assertNotEquals(Path.of(first.getPath()).getParent(), Path.of(second.getPath()).getParent());
+        assertTrue(repositoryService.getStorageRoots().stream()
+                .allMatch(root -> root.getRepositoryCount() == 1));
+    }
+
+    @Test
+    void moveRepository_shouldRelocateToAnotherStorageRoot() throws Exception {
+        Path firstRoot = tempDir.resolve("disk1");
+        Path secondRoot = tempDir.resolve("disk2");
+        useStorageRoots(GitRepositoryConfig.Storage.Placement.EXPLICIT, firstRoot, secondRoot);
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("moved-repo");
+        request.setStorageRoot(firstRoot.toString());
+        repositoryService.createRepository(request);
+        try (Git git = Git.open(firstRoot.resolve("moved-repo").toFile())) {
+            Files.writeString(firstRoot.resolve("moved-repo").resolve("README.md"), "content");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").call();
+        }
+
+        RepositoryInfo moved = repositoryService.moveRepository("moved-repo", secondRoot.toString());
+
+        assertEquals(secondRoot.resolve("moved-repo").toAbsolutePath().normalize().toString(), moved.getPath());
+        assertFalse(Files.exists(firstRoot.resolve("moved-repo")));
+        try (Repository repository = repositoryService.openRepository("moved-repo")) {
+            assertNotNull(repository.resolve("HEAD"));
+        }
+
+        // The location is found again after a restart
+        repositoryService.shutdown();
+        repositoryService = new RepositoryService(config, sshService);
+        assertEquals(moved.getPath(), repositoryService.getRepositoryInfo("moved-repo").getPath());
+    }
+
+    @Test
+    void createRepository_shouldKeepEphemeralRepositoryInMemory() throws Exception {
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("scratch-repo");
+        request.setEphemeral(true);
+        request.setTtl(Duration.ofMinutes(5));
+
+        RepositoryInfo created = repositoryService.createRepository(request);
+
+        assertTrue(created.isEphemeral());
+        assertNotNull(created.getExpiresAt());
+        assertFalse(Files.exists(tempDir.resolve("scratch-repo")));
+
+        try (Repository repository = repositoryService.openRepository("scratch-repo");
+             ObjectInserter inserter = repository.newObjectInserter()) {
+            TreeFormatter tree = new TreeFormatter();
+            tree.append("README.md", FileMode.REGULAR_FILE,
+                    inserter.insert(Constants.OBJ_BLOB, "scratch".getBytes(StandardCharsets.UTF_8)));
+            CommitBuilder commit = new CommitBuilder();
+            commit.setTreeId(inserter.insert(tree));
+            commit.setAuthor(new PersonIdent("CI", "ci@example.com"));
+            commit.setCommitter(commit.getAuthor());
+            commit.setMessage("Scratch commit");
+            ObjectId commitId = inserter.insert(commit);
+            inserter.flush();
+
+            RefUpdate update = repository.updateRef(Constants.HEAD);
+            update.setNewObjectId(commitId);
+            update.update();
+        }
+
+        RepositoryInfo info = repositoryService.getRepositoryInfo("scratch-repo");
+        assertEquals(1, info.getBranchCount());
+        assertTrue(info.getSizeBytes() > 0);
+        assertTrue(repositoryService.listRepositories().stream().anyMatch(RepositoryInfo::isEphemeral));
+
+        repositoryService.deleteRepository("scratch-repo");
+        assertThrows(RepositoryException.class, () -> repositoryService.getRepositoryInfo("scratch-repo"));
+    }
+
+    @Test
+    void createRepository_shouldSeedEphemeralRepositoryFromSource() throws Exception {
+        CreateRepositoryRequest sourceRequest = new CreateRepositoryRequest();
+        sourceRequest.setName("seed-source");
+        repositoryService.createRepository(sourceRequest);
+        Path sourcePath = tempDir.resolve("seed-source");
+        ObjectId head;
+        try (Git git = Git.open(sourcePath.toFile())) {
+            Files.writeString(sourcePath.resolve("README.md"), "seed");
+            git.add().addFilepattern(".").call();
+            head = git.commit().setMessage("Initial commit").call();
+            git.branchCreate().setName("feature").call();
+            git.tag().setName("v1.0").call();
+        }
+
+        CreateRepositoryRequest request = new CreateRepositoryRequest();
+        request.setName("seeded-scratch");
+        request.setEphemeral(true);
+        request.setSourceUrl(sourcePath.toUri().toString());
+        RepositoryInfo seeded = repositoryService.createRepository(request);
+
+        assertTrue(seeded.isEphemeral());
+        assertEquals("master", seeded.getCurrentBranch());
+        assertEquals(2, seeded.getBranchCount());
+        assertEquals(1, seeded.getTagCount());
+        try (Repository repository = repositoryService.openRepository("seeded-scratch")) {
+            assertEquals(head, repository.resolve("HEAD"));
+        }
+
+        request.setName("unseedable-scratch");
+        request.setSourceUrl(tempDir.resolve("missing").toUri().toString());
+        RepositoryException failure = assertThrows(RepositoryException.class,
+                () -> repositoryService.createRepository(request));
+        assertEquals(RepositoryException.ErrorCode.CLONE_FAILED, failure.getErrorCode());
+        assertThrows(RepositoryException.class, () -> repositoryService.getRepositoryInfo("unseedable-scratch"));
+    }
+
+    @Test
+    void createRepository_shouldNotExceedEphemeralLimitUnderConcurrentCreates() throws Exception {
+        config.getEphemeral().setMaxRepositories(3);
+        repositoryService.shutdown();
+        repositoryService = new RepositoryService(config, sshService);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                CreateRepositoryRequest request = new CreateRepositoryRequest();
+                request.setName("concurrent-scratch-" + i);
+                request.setEphemeral(true);
+                futures.add(executor.submit(() -> repositoryService.createRepository(request)));
+            }
+            int created = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertEquals(RepositoryException.ErrorCode.EPHEMERAL_CAPACITY_EXCEEDED,
+                            ((RepositoryException) e.getCause()).getErrorCode());
+                }
+            }
+            assertEquals(3, created);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void locks_shouldShareReadsAndTimeOutWritersWhileReadsAreHeld() throws Exception {
+        repositoryService.shutdown();
+        config.getLock().setWaitTimeout(Duration.ofMillis(100));
+        repositoryService = new RepositoryService(config, sshService);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (RepositoryLock lock = repositoryService.readLock("locked-repo")) {
+            Future<Boolean> reader = executor.submit(() -> {
+                try (RepositoryLock shared = repositoryService.readLock("locked-repo")) {
+                    return true;
+                }
+            });
+            assertTrue(reader.get());
+
+            Future<?> writer = executor.submit(() -> repositoryService.writeLock("locked-repo").close());
+            ExecutionException failure = assertThrows(ExecutionException.class, writer::get);
+            RepositoryException cause = assertInstanceOf(RepositoryException.class, failure.getCause());
+            assertEquals(RepositoryException.ErrorCode.LOCK_TIMEOUT, cause.getErrorCode());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LockStats stats = repositoryService.getLockStats();
+        assertEquals(2, stats.getRead().getAcquired());
+        assertEquals(1, stats.getWrite().getTimeouts());
+        assertEquals(0, stats.getActiveReaders());
+    }
+
+    @Test
+    void registry_shouldNotReloadUnreadableRepositoryUntilRefreshed() throws Exception {
+        Path root = tempDir.resolve("registry-root");
+        Files.createDirectories(root.resolve("broken"));
+        AtomicInteger loads = new AtomicInteger();
+        try (RepositoryRegistry registry = new RepositoryRegistry(List.of(root), Files::isDirectory, name -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("unreadable");
+        }, name -> { })) {
+            registry.rescan();
+            assertTrue(registry.list().isEmpty());
+            assertTrue(registry.list().isEmpty());
+            assertEquals(1, loads.get());
+
+            registry.refresh("broken");
+            registry.list();
+            assertEquals(2, loads.get());
+        }
+    }
+
+    private void useStorageRoots(GitRepositoryConfig.Storage.Placement placement, Path... roots) {
+        repositoryService.shutdown();
+        config.getStorage().setPlacement(placement);
+        for (Path root : roots) {
+            config.getStorage().getRoots().add(root.toString());
+        }
+        repositoryService = new RepositoryService(config, sshService);
+    }
 }
@@ -55,6 +55,30 @@ class TagServiceTest {
         assertTrue(tags.isEmpty());
     }
 
+    @Test
+    void listTags_shouldServeAnnotatedTagsFromCacheOnRepeatedListings() throws Exception {
+        Path repoPath = tempDir.resolve(TEST_REPO);
+        try (Git git = Git.open(repoPath.toFile())) {
+            git.tag().setName("v1.0").setAnnotated(true).setMessage("Release 1.0").call();
+            git.tag().setName("v1.0-light").setAnnotated(false).call();
+        }
+
+        List<TagInfo> first = tagService.listTags(TEST_REPO);
+        long misses = repositoryService.getTagSummaryCache().getStats().getMisses();
+        List<TagInfo> second = tagService.listTags(TEST_REPO);
+
+        assertEquals(2, first.size());
+        TagInfo annotated = second.stream().filter(t -> t.getName().equals("v1.0")).findFirst().orElseThrow();
+        TagInfo lightweight = second.stream().filter(t -> t.getName().equals("v1.0-light")).findFirst().orElseThrow();
+        assertTrue(annotated.isAnnotated());
+        assertEquals("Release 1.0", annotated.getMessage());
+        assertEquals(lightweight.getCommitId(), annotated.getCommitId());
+        assertFalse(lightweight.isAnnotated());
+
+        assertEquals(1, misses);
+        assertEquals(misses, repositoryService.getTagSummaryCache().getStats().getMisses());
+    }
+
     @Test
     void createTag_shouldCreateLightweightTag() {
         CreateTagRequest request = new CreateTagRequest();
@@ -124,4 +148,19 @@ class TagServiceTest {
         List<TagInfo> tags = tagService.listTags(TEST_REPO);
         assertFalse(tags.stream().anyMatch(t -> t.getName().equals("delete-tag")));
     }
+
+    @Test
+    void deleteTag_shouldRejectMissingTagWithoutChangingTagCount() {
+        CreateTagRequest request = new CreateTagRequest();
+        request.setName("v1.0");
+        tagService.createTag(TEST_REPO, request);
+        tagService.deleteTag(TEST_REPO, "v1.0");
+
+        for (int i = 0; i < 2; i++) {
+            RepositoryException exception = assertThrows(RepositoryException.class,
+                    () -> tagService.deleteTag(TEST_REPO, "v1.0"));
+            assertEquals(RepositoryException.ErrorCode.TAG_NOT_FOUND, exception.getErrorCode());
+        }
+        assertEquals(0, repositoryService.getRepositoryInfo(TEST_REPO).getTagCount());
+    }
 }